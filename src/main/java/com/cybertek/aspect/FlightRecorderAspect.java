@@ -0,0 +1,153 @@
+package com.cybertek.aspect;
+
+import com.cybertek.jfr.EndpointEvent;
+import com.cybertek.jfr.RepositoryEvent;
+import com.cybertek.jfr.ServiceEvent;
+import com.cybertek.jfr.TicketingEvent;
+import com.cybertek.util.SqlStats;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits {@code com.cybertek.Endpoint}, {@code com.cybertek.Service} and {@code com.cybertek.Repository} flight recorder
+ * events. Without a recording that enables them a call costs one event allocation and an enabled check, the fields
+ * are only filled for events above their threshold. Endpoint calls count their statements themselves when no
+ * request filter does.
+ */
+@Aspect
+@Configuration
+@ConditionalOnProperty(name = "flight-recorder.events.enabled", matchIfMissing = true)
+public class FlightRecorderAspect {
+
+    private final boolean statementCounting;
+
+    private final Map<Method, String> operations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositories = new ConcurrentHashMap<>();
+
+    public FlightRecorderAspect(@Value("${sql-stats.enabled:true}") boolean statementCounting) {
+        this.statementCounting = statementCounting;
+    }
+
+    @Pointcut("execution(public * com.cybertek.controller..*(..))")
+    private void anyControllerOperation() {
+    }
+
+    @Pointcut("execution(public * com.cybertek.implementation..*(..))")
+    private void anyServiceOperation() {
+    }
+
+    //inherited methods like save and findAll are declared outside com.cybertek.repository
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))")
+    private void anyRepositoryOperation() {
+    }
+
+    @Around("anyControllerOperation()")
+    public Object anyControllerOperationAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        EndpointEvent event = new EndpointEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        boolean counting = statementCounting && SqlStats.current() == null;
+        if (counting) {
+            SqlStats.begin();
+        }
+
+        try {
+            return record(joinPoint, event, null);
+        } finally {
+            if (counting) {
+                SqlStats.end();
+            }
+        }
+    }
+
+    @Around("anyServiceOperation()")
+    public Object anyServiceOperationAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceEvent event = new ServiceEvent();
+        return event.isEnabled() ? record(joinPoint, event, null) : joinPoint.proceed();
+    }
+
+    @Around("anyRepositoryOperation()")
+    public Object anyRepositoryOperationAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryEvent event = new RepositoryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        //name the application's repository interface instead of CrudRepository or JpaRepository
+        String repository = repositories.computeIfAbsent(joinPoint.getThis().getClass(), FlightRecorderAspect::repositoryName);
+        return record(joinPoint, event, repository);
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, TicketingEvent event, String type) throws Throwable {
+
+        SqlStats stats = SqlStats.current();
+        long statementsBefore = stats == null ? 0 : stats.getStatements();
+        String outcome = "success";
+
+        event.begin();
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            outcome = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = currentEndpoint();
+                Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+                event.operation = type == null
+                        ? operations.computeIfAbsent(method, m -> m.getDeclaringClass().getSimpleName() + "." + m.getName())
+                        : type + "." + method.getName();
+                event.userId = currentUser();
+                event.statements = stats == null ? -1 : stats.getStatements() - statementsBefore;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getName().startsWith("com.cybertek.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? request.getRequestURI() : pattern);
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? null : auth.getName();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.cybertek.aspect;
+
+import com.cybertek.entity.ResponseWrapper;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Log parameter that renders its value only when the event is formatted, straight into the layout's buffer,
+ * and stops after {@code maxLength} characters. Collections show their size and first {@code maxItems} elements,
+ * responses their status and body instead of headers and identity hashes.
+ */
+final class LogValue implements StringBuilderFormattable {
+
+    private static final String ELLIPSIS = "...";
+
+    private final Object value;
+    private final int maxLength;
+    private final int maxItems;
+
+    private LogValue(Object value, int maxLength, int maxItems) {
+        this.value = value;
+        this.maxLength = maxLength;
+        this.maxItems = maxItems;
+    }
+
+    static LogValue of(Object value, int maxLength, int maxItems) {
+        return new LogValue(value, maxLength, maxItems);
+    }
+
+    @Override
+    public void formatTo(StringBuilder buffer) {
+        int limit = buffer.length() + maxLength;
+        render(value, buffer, limit);
+        if (buffer.length() > limit) {
+            buffer.setLength(limit);
+            buffer.append(ELLIPSIS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+        formatTo(buffer);
+        return buffer.toString();
+    }
+
+    private void render(Object value, StringBuilder buffer, int limit) {
+
+        if (buffer.length() > limit) {
+            return;
+        }
+
+        if (value instanceof ResponseEntity) {
+            ResponseEntity<?> response = (ResponseEntity<?>) value;
+            buffer.append('<').append(response.getStatusCodeValue()).append(' ');
+            render(response.getBody(), buffer, limit);
+            buffer.append('>');
+        } else if (value instanceof ResponseWrapper) {
+            ResponseWrapper response = (ResponseWrapper) value;
+            buffer.append("ResponseWrapper(message=").append(response.getMessage()).append(", data=");
+            render(response.getData(), buffer, limit);
+            if (response.getNext() != null) {
+                buffer.append(", next=").append(response.getNext());
+            }
+            buffer.append(')');
+        } else if (value instanceof Object[]) {
+            renderItems(Arrays.asList((Object[]) value).iterator(), buffer, limit, Integer.MAX_VALUE);
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            buffer.append("size=").append(collection.size()).append(' ');
+            renderItems(collection.iterator(), buffer, limit, maxItems);
+        } else {
+            buffer.append(value);
+        }
+    }
+
+    private void renderItems(Iterator<?> items, StringBuilder buffer, int limit, int max) {
+        buffer.append('[');
+        for (int i = 0; items.hasNext() && buffer.length() <= limit; i++) {
+            if (i == max) {
+                buffer.append(", ").append(ELLIPSIS);
+                break;
+            }
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            render(items.next(), buffer, limit);
+        }
+        buffer.append(']');
+    }
+
+}
@@ -1,37 +1,67 @@
 package com.cybertek.aspect;
 
 import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 @Aspect
 @Configuration
 @Slf4j
 public class LoggingAspect {
 
+    private final double sampleRate;
+    private final int maxLength;
+    private final int maxItems;
+
+    public LoggingAspect(@Value("${controller-logging.sample-rate:1.0}") double sampleRate,
+                         @Value("${controller-logging.max-length:512}") int maxLength,
+                         @Value("${controller-logging.max-items:3}") int maxItems) {
+        this.sampleRate = sampleRate;
+        this.maxLength = maxLength;
+        this.maxItems = maxItems;
+    }
+
     @Pointcut("execution(* com.cybertek.controller.ProjectController.*(..)) || execution(* com.cybertek.controller.TaskController.*(..))")
     private void anyControllerOperation() {
     }
 
-    @Before("anyControllerOperation()")
-    public void anyBeforeControllerOperationAdvice(JoinPoint joinPoint) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        log.info("Before(User : {} Method : {} - Parameters : {}", auth.getName(), joinPoint.getSignature().toShortString(), joinPoint.getArgs());
-    }
+    //one sampling decision per call keeps the before and after lines of a call together, failures are always logged
+    @Around("anyControllerOperation()")
+    public Object anyControllerOperationAdvice(ProceedingJoinPoint joinPoint) throws Throwable {
 
-    @AfterReturning(pointcut = "anyControllerOperation()", returning = "results")
-    public void anyAfterReturningControllerOperationAdvice(JoinPoint joinPoint, Object results) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        log.info("AfterReturning(User : {} Method : {} - Results : {}", auth.getName(), joinPoint.getSignature().toShortString(), results.toString());
+        boolean sampled = log.isInfoEnabled() && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+
+        if (sampled) {
+            log.info("Before(User : {} Method : {} - Parameters : {}", currentUser(), joinPoint.getSignature().toShortString(),
+                    LogValue.of(joinPoint.getArgs(), maxLength, maxItems));
+        }
+
+        Object results;
+
+        try {
+            results = joinPoint.proceed();
+        } catch (Throwable exception) {
+            log.info("After throwing(User : {} Method : {} - Exception : {}", currentUser(), joinPoint.getSignature().toShortString(), exception.getLocalizedMessage());
+            throw exception;
+        }
+
+        if (sampled) {
+            log.info("AfterReturning(User : {} Method : {} - Results : {}", currentUser(), joinPoint.getSignature().toShortString(),
+                    LogValue.of(results, maxLength, maxItems));
+        }
+
+        return results;
     }
 
-    @AfterThrowing(pointcut = "anyControllerOperation()", throwing = "exception")
-    public void anyAfterThrowingControllerOperationAdvice(JoinPoint joinPoint, RuntimeException exception) {
+    private static String currentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        log.info("After throwing(User : {} Method : {} - Exception : {}", auth.getName(), joinPoint.getSignature().toShortString(), exception.getLocalizedMessage());
+        return auth == null ? null : auth.getName();
     }
 
 }
@@ -0,0 +1,55 @@
+package com.cybertek.cache;
+
+import com.cybertek.dto.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users loaded for authentication, keyed by username.
+ * Hits, misses and evictions are published as the "principal" cache metrics.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDTO> users;
+
+    //bumped on every invalidation, a load that started before a user changed must not put the old user back
+    private long version;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          MeterRegistry meterRegistry) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "principal");
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public UserDTO get(String username) {
+        return users.getIfPresent(username);
+    }
+
+    public synchronized void put(String username, UserDTO user, long loadedAtVersion) {
+        if (loadedAtVersion == version) {
+            users.put(username, user);
+        }
+    }
+
+    public synchronized void invalidate(String username) {
+        version++;
+        users.invalidate(username);
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.cybertek.cache;
+
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Projects by code, and the whole catalog of list views sorted by code for the project list, in the same order
+ * the database seeks in once the catalog is too large.
+ * Writes are applied through {@link #projectChanged}, both caches also drop their entries after the ttl
+ * so anything changed behind the service (a manager renamed, a manual fix in the database) heals itself.
+ * The catalog is only kept while it holds at most max-size projects.
+ * Hits, misses and evictions are published as the "project" and "project.catalog" cache metrics.
+ */
+@Component
+public class ProjectCatalogCache {
+
+    private static final String CATALOG = "catalog";
+
+    //the order of project_code's "C" collation (V6), UTF-8 bytes compare like code points.
+    //String.compareTo compares UTF-16 units, which differs for characters above U+FFFF
+    static final Comparator<String> CODE_ORDER = (left, right) -> {
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int a = left.codePointAt(i);
+            int b = right.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Boolean.compare(i < left.length(), j < right.length());
+    };
+
+    private final Cache<String, ProjectDTO> projects;
+    private final Cache<String, NavigableMap<String, ProjectDTO>> catalog;
+    private final int maxSize;
+
+    //bumped on every write, a load that started before a write must not overwrite it
+    private long version;
+
+    public ProjectCatalogCache(@Value("${project.catalog-cache.max-size:10000}") int maxSize,
+                               @Value("${project.catalog-cache.ttl-seconds:600}") long ttlSeconds,
+                               MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.projects = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.catalog = Caffeine.newBuilder()
+                .expireAfter(new LoadedAtExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, projects, "project");
+        CaffeineCacheMetrics.monitor(meterRegistry, catalog, "project.catalog");
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public ProjectDTO get(String projectCode) {
+        return projects.getIfPresent(projectCode);
+    }
+
+    public synchronized void put(ProjectDTO project, long loadedAtVersion) {
+        if (loadedAtVersion == version) {
+            projects.put(project.getProjectCode(), project);
+        }
+    }
+
+    /**
+     * Up to {@code rows} list views sorted by code and following {@code afterCode},
+     * or null when the catalog is not loaded.
+     */
+    public List<ProjectDTO> page(String afterCode, int rows) {
+        NavigableMap<String, ProjectDTO> all = catalog.getIfPresent(CATALOG);
+        if (all == null) {
+            return null;
+        }
+        Map<String, ProjectDTO> tail = afterCode == null ? all : all.tailMap(afterCode, false);
+        return tail.values().stream().limit(rows).collect(Collectors.toList());
+    }
+
+    public synchronized void putCatalog(List<ProjectDTO> listViews, long loadedAtVersion) {
+        if (loadedAtVersion != version || listViews.size() > maxSize) {
+            return;
+        }
+        NavigableMap<String, ProjectDTO> all = new TreeMap<>(CODE_ORDER);
+        listViews.forEach(project -> all.put(project.getProjectCode(), project));
+        catalog.put(CATALOG, Collections.unmodifiableNavigableMap(all));
+    }
+
+    /**
+     * Replaces the project stored under {@code projectCode} with its current state,
+     * a null project (deleted, or its code changed) removes it.
+     */
+    public synchronized void projectChanged(String projectCode, ProjectDTO project) {
+        version++;
+
+        projects.invalidate(projectCode);
+        if (project != null) {
+            projects.put(project.getProjectCode(), project);
+        }
+
+        //copy on write, pages being read keep the map they started with
+        catalog.asMap().computeIfPresent(CATALOG, (key, all) -> {
+            NavigableMap<String, ProjectDTO> changed = new TreeMap<>(all);
+            changed.remove(projectCode);
+            if (project != null) {
+                changed.put(project.getProjectCode(), listView(project));
+            }
+            return changed.size() > maxSize ? null : Collections.unmodifiableNavigableMap(changed);
+        });
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        projects.invalidateAll();
+        catalog.invalidateAll();
+    }
+
+    //the same shape ProjectRepository.LIST_VIEW reads
+    private static ProjectDTO listView(ProjectDTO project) {
+        UserDTO manager = project.getAssignedManager();
+        return new ProjectDTO(project.getId(), project.getProjectName(), project.getProjectCode(),
+                manager == null ? null : manager.getId(),
+                manager == null ? null : manager.getFirstName(),
+                manager == null ? null : manager.getLastName(),
+                manager == null ? null : manager.getUserName(),
+                project.getStartDate(), project.getEndDate(), project.getProjectDetail(), project.getProjectStatus());
+    }
+
+    //the catalog expires a ttl after it was loaded, write-through updates do not push that back
+    private static class LoadedAtExpiry implements Expiry<String, NavigableMap<String, ProjectDTO>> {
+
+        private final long ttlNanos;
+
+        LoadedAtExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, NavigableMap<String, ProjectDTO> value, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, NavigableMap<String, ProjectDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, NavigableMap<String, ProjectDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.cybertek.config;
+
+import com.cybertek.filter.SqlStatsFilter;
+import com.cybertek.util.SqlStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Per request SQL statistics: the data source is wrapped in a proxy that reports every statement and every row read
+ * to {@link SqlStats}. Outside the prod profile {@link SqlStatsFilter} publishes the totals of each request,
+ * in prod only the flight recorder endpoint events read the statement count and rows are not counted.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql-stats.enabled", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    private static final String FILTER_PROFILE = "!prod";
+
+    //static so the data source is wrapped before anything else asks for it
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(Environment environment) {
+        //rows are only published by SqlStatsFilter, in prod the result sets are not proxied and only statements are counted
+        boolean countRows = environment.acceptsProfiles(Profiles.of(FILTER_PROFILE));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                SqlStatsListener listener = new SqlStatsListener();
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, (DataSource) bean).listener(listener);
+                if (countRows) {
+                    builder.methodListener(listener).proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    //ahead of the security chain so the user lookups of the token filter are counted as well
+    @Bean
+    @Profile(FILTER_PROFILE)
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(@Lazy MeterRegistry meterRegistry,
+                                                                 @Value("${sql-stats.headers:true}") boolean headers,
+                                                                 @Value("${sql-stats.warn-statements:30}") long warnStatements,
+                                                                 @Value("${sql-stats.warn-repeated:10}") int warnRepeated) {
+        FilterRegistrationBean<SqlStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatsFilter(meterRegistry, headers, warnStatements, warnRepeated));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private static class SqlStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStats stats = SqlStats.current();
+            if (stats != null) {
+                stats.statementStarted();
+            }
+        }
+
+        //a batch is one round trip, its rows are the update counts, rows of a query are counted as they are read
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStats stats = SqlStats.current();
+            if (stats != null) {
+                stats.statementFinished(queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery(), updateCount(execInfo.getResult()));
+            }
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet && "next".equals(executionContext.getMethod().getName())
+                    && Boolean.TRUE.equals(executionContext.getResult())) {
+                SqlStats stats = SqlStats.current();
+                if (stats != null) {
+                    stats.rowRead();
+                }
+            }
+        }
+
+        private static long updateCount(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return Math.max(0, ((Number) result).longValue());
+            }
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(0, count);
+                }
+            }
+            return rows;
+        }
+    }
+
+}
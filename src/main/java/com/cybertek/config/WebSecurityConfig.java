@@ -47,6 +47,10 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                 .csrf()
                 .disable()
                 .authorizeRequests()
+                .antMatchers("/actuator/health")
+                .permitAll()
+                .antMatchers("/actuator/**")
+                .hasAuthority("Admin")
                 .antMatchers(permittedUrls)
                 .permitAll()
                 .anyRequest()
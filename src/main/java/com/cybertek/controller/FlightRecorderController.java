@@ -0,0 +1,57 @@
+package com.cybertek.controller;
+
+import com.cybertek.annotation.DefaultExceptionMessage;
+import com.cybertek.entity.ResponseWrapper;
+import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.service.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/recording")
+@RequiredArgsConstructor
+@Tag(name = "Flight Recorder Controller", description = "Flight Recorder API")
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @GetMapping
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong, please try again!")
+    @Operation(summary = "Read Recording Status")
+    @PreAuthorize("hasAuthority('Admin')")
+    public ResponseEntity<ResponseWrapper> status() {
+        return ResponseEntity.ok(new ResponseWrapper("Recording status is retrieved", flightRecorderService.status()));
+    }
+
+    @PostMapping("/start")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong, please try again!")
+    @Operation(summary = "Start Recording")
+    @PreAuthorize("hasAuthority('Admin')")
+    public ResponseEntity<ResponseWrapper> start() throws TicketingProjectException {
+        return ResponseEntity.ok(new ResponseWrapper("Recording is started", flightRecorderService.start()));
+    }
+
+    @PostMapping("/dump")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong, please try again!")
+    @Operation(summary = "Dump Recording To File")
+    @PreAuthorize("hasAuthority('Admin')")
+    public ResponseEntity<ResponseWrapper> dump() throws TicketingProjectException {
+        return ResponseEntity.ok(new ResponseWrapper("Recording is dumped", flightRecorderService.dump()));
+    }
+
+    @PostMapping("/stop")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong, please try again!")
+    @Operation(summary = "Stop Recording")
+    @PreAuthorize("hasAuthority('Admin')")
+    public ResponseEntity<ResponseWrapper> stop() throws TicketingProjectException {
+        return ResponseEntity.ok(new ResponseWrapper("Recording is stopped", flightRecorderService.stop()));
+    }
+
+}
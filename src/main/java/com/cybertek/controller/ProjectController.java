@@ -1,16 +1,20 @@
 package com.cybertek.controller;
 
 import com.cybertek.annotation.DefaultExceptionMessage;
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.entity.ResponseWrapper;
 import com.cybertek.exception.TicketingProjectException;
 import com.cybertek.service.ProjectService;
 import com.cybertek.service.UserService;
+import com.cybertek.util.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,10 +25,12 @@ public class ProjectController {
 
     private final ProjectService projectService;
     private final UserService userService;
+    private final ETagUtil eTagUtil;
 
-    public ProjectController(ProjectService projectService, UserService userService) {
+    public ProjectController(ProjectService projectService, UserService userService, ETagUtil eTagUtil) {
         this.projectService = projectService;
         this.userService = userService;
+        this.eTagUtil = eTagUtil;
     }
 
 
@@ -32,9 +38,15 @@ public class ProjectController {
     @Operation(summary = "Read All Projects")
     @DefaultExceptionMessage(defaultMessage = "Something went wrong, try again!")
     @PreAuthorize("hasAnyAuthority('Admin', 'Manager')")
-    public ResponseEntity<ResponseWrapper> readAll() {
-        List<ProjectDTO> projectDTOList = projectService.listAllProjects();
-        return ResponseEntity.ok(new ResponseWrapper("Projects are retrieved", projectDTOList));
+    public ResponseEntity<ResponseWrapper> readAll(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   WebRequest request) throws TicketingProjectException {
+        ResultVersionDTO version = projectService.listAllProjectsVersion();
+        if (eTagUtil.checkNotModified(request, version)) {
+            return null;
+        }
+        CursorPage<ProjectDTO> projectPage = projectService.listAllProjects(cursor, limit);
+        return eTagUtil.ok(version, new ResponseWrapper("Projects are retrieved", projectPage.getContent(), projectPage.getNext()));
     }
 
     @GetMapping("/{projectCode}")
@@ -1,17 +1,27 @@
 package com.cybertek.controller;
 
 import com.cybertek.annotation.DefaultExceptionMessage;
+import com.cybertek.dto.CursorPage;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.dto.TaskDTO;
+import com.cybertek.dto.TaskImportResultDTO;
 import com.cybertek.entity.ResponseWrapper;
 import com.cybertek.enums.Status;
 import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.service.TaskImportService;
 import com.cybertek.service.TaskService;
+import com.cybertek.util.ETagUtil;
+import com.cybertek.util.JsonStreamUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,26 +30,54 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final JsonStreamUtil jsonStreamUtil;
+    private final TaskImportService taskImportService;
+    private final ETagUtil eTagUtil;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, JsonStreamUtil jsonStreamUtil, TaskImportService taskImportService, ETagUtil eTagUtil) {
         this.taskService = taskService;
+        this.jsonStreamUtil = jsonStreamUtil;
+        this.taskImportService = taskImportService;
+        this.eTagUtil = eTagUtil;
     }
 
     @GetMapping
     @DefaultExceptionMessage(defaultMessage = "Something went wrong, please try again!")
     @Operation(summary = "Read All Tasks")
     @PreAuthorize("hasAuthority('Manager')")
-    public ResponseEntity<ResponseWrapper> readAll() {
-        return ResponseEntity.ok(new ResponseWrapper("Successfully retrieved all tasks.", taskService.listAllTasks()));
+    public ResponseEntity<ResponseWrapper> readAll(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit) throws TicketingProjectException {
+        CursorPage<TaskDTO> taskPage = taskService.listAllTasks(cursor, limit);
+        return ResponseEntity.ok(new ResponseWrapper("Successfully retrieved all tasks.", taskPage.getContent(), taskPage.getNext()));
+    }
+
+    @GetMapping("/export")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong, please try again!")
+    @Operation(summary = "Export all tasks as a stream")
+    @PreAuthorize("hasAuthority('Manager')")
+    public void exportAll(HttpServletResponse response) throws IOException, TicketingProjectException {
+        jsonStreamUtil.writeResponse(response, "Successfully retrieved all tasks.", taskService::exportTasks);
+    }
+
+    @GetMapping("/project-manager/export")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong,please try again!")
+    @Operation(summary = "Export all tasks by project manager as a stream")
+    @PreAuthorize("hasAuthority('Manager')")
+    public void exportAllByProjectManager(HttpServletResponse response) throws IOException, TicketingProjectException {
+        jsonStreamUtil.writeResponse(response, "Successfully retrieved tasks by project manager", taskService::exportTasksByProjectManager);
     }
 
     @GetMapping("/project-manager")
     @DefaultExceptionMessage(defaultMessage = "Something went wrong,please try again!")
     @Operation(summary = "Read all tasks by project manager")
     @PreAuthorize("hasAuthority('Manager')")
-    public ResponseEntity<ResponseWrapper> readAllByProjectManager() throws TicketingProjectException {
+    public ResponseEntity<ResponseWrapper> readAllByProjectManager(WebRequest request) throws TicketingProjectException {
+        ResultVersionDTO version = taskService.listAllTasksByProjectManagerVersion();
+        if (eTagUtil.checkNotModified(request, version)) {
+            return null;
+        }
         List<TaskDTO> taskList = taskService.listAllTasksByProjectManager();
-        return ResponseEntity.ok(new ResponseWrapper("Successfully retrieved tasks by project manager", taskList));
+        return eTagUtil.ok(version, new ResponseWrapper("Successfully retrieved tasks by project manager", taskList));
     }
 
     @GetMapping("/{id}")
@@ -60,6 +98,24 @@ public class TaskController {
         return ResponseEntity.ok(new ResponseWrapper("Successfully task created", createdTask));
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong,please try again!")
+    @Operation(summary = "Import tasks from newline delimited JSON")
+    @PreAuthorize("hasAuthority('Manager')")
+    public ResponseEntity<ResponseWrapper> importNdjson(HttpServletRequest request) throws IOException {
+        TaskImportResultDTO result = taskImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok(new ResponseWrapper("Tasks are imported", result));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong,please try again!")
+    @Operation(summary = "Import tasks from CSV with a header row")
+    @PreAuthorize("hasAuthority('Manager')")
+    public ResponseEntity<ResponseWrapper> importCsv(HttpServletRequest request) throws IOException {
+        TaskImportResultDTO result = taskImportService.importCsv(request.getInputStream());
+        return ResponseEntity.ok(new ResponseWrapper("Tasks are imported", result));
+    }
+
     @DeleteMapping("/{id}")
     @DefaultExceptionMessage(defaultMessage = "Something went wrong,please try again!")
     @Operation(summary = "Delete a task")
@@ -81,9 +137,13 @@ public class TaskController {
     @GetMapping("/employee")
     @Operation(summary = "Read all non complete tasks")
     @PreAuthorize("hasAuthority('Employee')")
-    public ResponseEntity<ResponseWrapper> employeeReadAllNonCompleteTask() throws TicketingProjectException {
+    public ResponseEntity<ResponseWrapper> employeeReadAllNonCompleteTask(WebRequest request) throws TicketingProjectException {
+        ResultVersionDTO version = taskService.listAllTasksByStatusIsNotVersion(Status.COMPLETE);
+        if (eTagUtil.checkNotModified(request, version)) {
+            return null;
+        }
         List<TaskDTO> tasks = taskService.listAllTasksByStatusIsNot(Status.COMPLETE);
-        return ResponseEntity.ok(new ResponseWrapper("Successfully read non completed current user tasks", tasks));
+        return eTagUtil.ok(version, new ResponseWrapper("Successfully read non completed current user tasks", tasks));
     }
 
     @PutMapping("/employee/update")
@@ -1,21 +1,18 @@
 package com.cybertek.controller;
 
 import com.cybertek.annotation.DefaultExceptionMessage;
-import com.cybertek.dto.MailDTO;
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.UserDTO;
-import com.cybertek.entity.ConfirmationToken;
+import com.cybertek.dto.UserImportResultDTO;
 import com.cybertek.entity.ResponseWrapper;
-import com.cybertek.entity.User;
 import com.cybertek.exception.TicketingProjectException;
 import com.cybertek.util.MapperUtil;
-import com.cybertek.service.ConfirmationTokenService;
 import com.cybertek.service.RoleService;
+import com.cybertek.service.UserImportService;
 import com.cybertek.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,19 +24,16 @@ import java.util.List;
 @Tag(name = "User Controller", description = "User API")
 public class UserController {
 
-    @Value("${app.local-url}")
-    private String BASE_URL;
-
     private final UserService userService;
     private final MapperUtil mapperUtil;
     private final RoleService roleService;
-    private final ConfirmationTokenService confirmationTokenService;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService, MapperUtil mapperUtil, RoleService roleService, ConfirmationTokenService confirmationTokenService) {
+    public UserController(UserService userService, MapperUtil mapperUtil, RoleService roleService, UserImportService userImportService) {
         this.userService = userService;
         this.mapperUtil = mapperUtil;
         this.roleService = roleService;
-        this.confirmationTokenService = confirmationTokenService;
+        this.userImportService = userImportService;
     }
 
     @DefaultExceptionMessage(defaultMessage = "Something went wrong, try again!")
@@ -48,17 +42,26 @@ public class UserController {
     @PreAuthorize("hasAuthority('Admin')")
     public ResponseEntity<ResponseWrapper> doRegister(@RequestBody UserDTO userDTO) throws TicketingProjectException {
         UserDTO createdUser = userService.save(userDTO);
-        sendEmail(createEmail(createdUser));
         return ResponseEntity.ok(new ResponseWrapper("User has been created!", createdUser));
     }
 
+    @DefaultExceptionMessage(defaultMessage = "Something went wrong, try again!")
+    @PostMapping("/import")
+    @Operation(summary = "Create many accounts at once")
+    @PreAuthorize("hasAuthority('Admin')")
+    public ResponseEntity<ResponseWrapper> importUsers(@RequestBody List<UserDTO> users) throws TicketingProjectException {
+        List<UserImportResultDTO> results = userImportService.importUsers(users);
+        return ResponseEntity.ok(new ResponseWrapper("Users have been imported!", results));
+    }
+
     @GetMapping
     @DefaultExceptionMessage(defaultMessage = "Something went wrong, try again!")
     @Operation(summary = "Read All Users")
     @PreAuthorize("hasAuthority('Admin')")
-    public ResponseEntity<ResponseWrapper> readAll() {
-        List<UserDTO> result = userService.listAllUsers();
-        return ResponseEntity.ok(new ResponseWrapper("Successfully retrieved users", result));
+    public ResponseEntity<ResponseWrapper> readAll(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit) throws TicketingProjectException {
+        CursorPage<UserDTO> result = userService.listAllUsers(cursor, limit);
+        return ResponseEntity.ok(new ResponseWrapper("Successfully retrieved users", result.getContent(), result.getNext()));
     }
 
     @GetMapping("/{username}")
@@ -91,40 +94,11 @@ public class UserController {
     @DefaultExceptionMessage(defaultMessage = "Something went wrong, try again!")
     @Operation(summary = "Read by role")
     @PreAuthorize("hasAnyAuthority('Admin','Manager')")
-    public ResponseEntity<ResponseWrapper> readByRole(@RequestParam String role) {
-        List<UserDTO> userList = userService.listAllByRole(role);
-        return ResponseEntity.ok(new ResponseWrapper("Successfully read users by role", userList));
-    }
-
-    private MailDTO createEmail(UserDTO userDTO) {
-
-        User user = mapperUtil.convert(userDTO, new User());
-
-        ConfirmationToken confirmationToken = new ConfirmationToken(user);
-        confirmationToken.setIsDeleted(false);
-
-        ConfirmationToken createdConfirmationToken = confirmationTokenService.save(confirmationToken);
-
-        return MailDTO
-                .builder()
-                .emailTo(user.getUserName())
-                .token(createdConfirmationToken.getToken())
-                .subject("Confirm Registration")
-                .message("To confirm your account, please click here:")
-                .url(BASE_URL + "/confirmation?token=")
-                .build();
-
-    }
-
-    private void sendEmail(MailDTO mailDTO) {
-
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setTo(mailDTO.getEmailTo());
-        mailMessage.setSubject(mailDTO.getSubject());
-        mailMessage.setText(mailDTO.getMessage() + mailDTO.getUrl() + mailDTO.getToken());
-
-        confirmationTokenService.sendEmail(mailMessage);
-
+    public ResponseEntity<ResponseWrapper> readByRole(@RequestParam String role,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) throws TicketingProjectException {
+        CursorPage<UserDTO> userPage = userService.listAllByRole(role, cursor, limit);
+        return ResponseEntity.ok(new ResponseWrapper("Successfully read users by role", userPage.getContent(), userPage.getNext()));
     }
 
 }
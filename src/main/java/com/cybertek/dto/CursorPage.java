@@ -0,0 +1,17 @@
+package com.cybertek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    //opaque position after the last element, null on the last page
+    private String next;
+
+}
@@ -34,5 +34,18 @@ public class ProjectDTO {
     private int completeTaskCounts;
     private int unfinishedTaskCounts;
 
+    //list view projection, see ProjectRepository
+    public ProjectDTO(Long id, String projectName, String projectCode, Long managerId, String managerFirstName, String managerLastName,
+                      String managerUserName, LocalDate startDate, LocalDate endDate, String projectDetail, Status projectStatus) {
+        this.id = id;
+        this.projectName = projectName;
+        this.projectCode = projectCode;
+        this.assignedManager = UserDTO.summary(managerId, managerFirstName, managerLastName, managerUserName);
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.projectDetail = projectDetail;
+        this.projectStatus = projectStatus;
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.cybertek.dto;
+
+import com.cybertek.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ProjectTaskCountDTO {
+
+    private Long projectId;
+    private Status taskStatus;
+    private Long taskCount;
+
+}
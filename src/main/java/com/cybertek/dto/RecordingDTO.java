@@ -0,0 +1,30 @@
+package com.cybertek.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordingDTO {
+
+    private long id;
+    private String name;
+    private String state;
+    private Instant startTime;
+    private Long maxAgeSeconds;
+    private Long maxSizeBytes;
+
+    //the file written by the last dump or stop
+    private String file;
+
+}
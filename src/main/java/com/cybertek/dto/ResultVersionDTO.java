@@ -0,0 +1,54 @@
+package com.cybertek.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Row count and latest update time of everything a list response is built from.
+ * Any insert or soft delete changes the count and any update moves the time, so together they
+ * tell whether the response changed without reading the rows.
+ */
+@NoArgsConstructor
+@Getter
+public class ResultVersionDTO {
+
+    private long count;
+    private LocalDateTime lastModified;
+
+    //projections over the listed rows and the rows joined into each of them
+    public ResultVersionDTO(Long count, LocalDateTime lastModified, LocalDateTime joinedLastModified) {
+        this(count, new LocalDateTime[]{lastModified, joinedLastModified});
+    }
+
+    public ResultVersionDTO(Long count, LocalDateTime lastModified, LocalDateTime firstJoinedLastModified,
+                            LocalDateTime secondJoinedLastModified, LocalDateTime thirdJoinedLastModified) {
+        this(count, new LocalDateTime[]{lastModified, firstJoinedLastModified, secondJoinedLastModified, thirdJoinedLastModified});
+    }
+
+    private ResultVersionDTO(Long count, LocalDateTime[] lastModified) {
+        this.count = count == null ? 0 : count;
+        this.lastModified = Arrays.stream(lastModified).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+    }
+
+    //keeps the full timestamp precision, two updates within the same millisecond still give different tags
+    public String toETag() {
+        if (lastModified == null) {
+            return "\"" + count + "\"";
+        }
+        Instant instant = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+        return "\"" + count + "-" + instant.getEpochSecond() + "." + instant.getNano() + "\"";
+    }
+
+    //-1 leaves Last-Modified out
+    public long toEpochMilli() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+}
@@ -24,4 +24,18 @@ public class TaskDTO {
     private Status taskStatus;
     private LocalDate assignedDate;
 
+    //list view projection, see TaskRepository
+    public TaskDTO(Long id, String taskSubject, String taskDetail, Status taskStatus, LocalDate assignedDate,
+                   Long projectId, String projectCode, String projectName, Status projectStatus,
+                   Long employeeId, String employeeFirstName, String employeeLastName, String employeeUserName) {
+        this.id = id;
+        this.taskSubject = taskSubject;
+        this.taskDetail = taskDetail;
+        this.taskStatus = taskStatus;
+        this.assignedDate = assignedDate;
+        this.project = projectId == null ? null : ProjectDTO.builder()
+                .id(projectId).projectCode(projectCode).projectName(projectName).projectStatus(projectStatus).build();
+        this.assignedEmployee = UserDTO.summary(employeeId, employeeFirstName, employeeLastName, employeeUserName);
+    }
+
 }
\ No newline at end of file
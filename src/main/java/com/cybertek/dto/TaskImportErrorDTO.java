@@ -0,0 +1,17 @@
+package com.cybertek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TaskImportErrorDTO {
+
+    private long row;
+    private String message;
+
+}
@@ -0,0 +1,21 @@
+package com.cybertek.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@Getter
+@Setter
+public class TaskImportResultDTO {
+
+    private long imported;
+    private long failed;
+
+    //only the first errors are listed, failed keeps the full count
+    private List<TaskImportErrorDTO> errors = new ArrayList<>();
+
+}
@@ -0,0 +1,21 @@
+package com.cybertek.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TaskImportRowDTO {
+
+    private String projectCode;
+    private String assignedEmployee;
+    private String taskSubject;
+    private String taskDetail;
+
+}
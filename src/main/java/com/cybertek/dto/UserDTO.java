@@ -26,4 +26,22 @@ public class UserDTO {
     private String phone;
     private RoleDTO role;
     private Gender gender;
+
+    //list view projection, see UserRepository
+    public UserDTO(Long id, String firstName, String lastName, String userName, Boolean enabled, String phone, Gender gender,
+                   Long roleId, String roleDescription) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.userName = userName;
+        this.enabled = Boolean.TRUE.equals(enabled);
+        this.phone = phone;
+        this.gender = gender;
+        this.role = roleId == null ? null : new RoleDTO(roleId, roleDescription);
+    }
+
+    //the user as it is nested in project and task list views
+    public static UserDTO summary(Long id, String firstName, String lastName, String userName) {
+        return id == null ? null : UserDTO.builder().id(id).firstName(firstName).lastName(lastName).userName(userName).build();
+    }
 }
\ No newline at end of file
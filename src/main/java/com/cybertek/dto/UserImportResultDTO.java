@@ -0,0 +1,18 @@
+package com.cybertek.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class UserImportResultDTO {
+
+    private String userName;
+    private boolean created;
+    private String message;
+
+}
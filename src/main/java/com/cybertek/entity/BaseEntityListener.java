@@ -15,30 +15,30 @@ public class BaseEntityListener extends AuditingEntityListener {
     @PrePersist
     private void onPrePersist(BaseEntity baseEntity){
 
-        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        long id = currentUserId();
 
         baseEntity.insertDateTime=LocalDateTime.now();
         baseEntity.lastUpdateDateTime=LocalDateTime.now();
-        baseEntity.insertUserId=1L;
-        baseEntity.lastUpdateUserId=1L;
-
-        if(authentication !=null && !authentication.getName().equals("anonymousUser")){
-            long id = Long.parseLong(authentication.getName());
-            baseEntity.insertUserId=id;
-            baseEntity.lastUpdateUserId=id;
-        }
+        baseEntity.insertUserId=id;
+        baseEntity.lastUpdateUserId=id;
     }
 
     @PreUpdate
     private void onPreUpdate(BaseEntity baseEntity){
 
-        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         baseEntity.lastUpdateDateTime=LocalDateTime.now();
-        baseEntity.lastUpdateUserId=1L;
+        baseEntity.lastUpdateUserId=currentUserId();
+
+    }
+
+    //bulk updates skip the entity callbacks and stamp the audit columns with this id themselves
+    public static long currentUserId(){
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
         if(authentication !=null && !authentication.getName().equals("anonymousUser")){
-            long id = Long.parseLong(authentication.getName());
-            baseEntity.lastUpdateUserId=id;
+            return Long.parseLong(authentication.getName());
         }
-
+        return 1L;
     }
 }
\ No newline at end of file
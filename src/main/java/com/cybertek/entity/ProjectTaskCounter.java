@@ -0,0 +1,29 @@
+package com.cybertek.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "project_task_counters")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ProjectTaskCounter {
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private long completedTasks;
+    @Column(nullable = false)
+    private long unfinishedTasks;
+
+}
@@ -16,6 +16,7 @@ public class ResponseWrapper {
     private String message;
     private Integer code;
     private Object data;
+    private String next;
 
     public ResponseWrapper(String message, Object data) {
         this.message = message;
@@ -24,6 +25,11 @@ public class ResponseWrapper {
         this.success=true;
     }
 
+    public ResponseWrapper(String message, Object data, String next) {
+        this(message, data);
+        this.next = next;
+    }
+
     public ResponseWrapper(String message) {
         this.message = message;
         this.code=HttpStatus.OK.value();
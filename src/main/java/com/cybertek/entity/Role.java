@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -18,6 +20,8 @@ import java.util.List;
 @Setter
 @Entity
 @Table(name = "roles")
+//roles are seeded by the migrations and never written at runtime
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 public class Role extends BaseEntity {
 
     private String description;
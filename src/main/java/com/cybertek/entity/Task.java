@@ -17,8 +17,18 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Where(clause = "is_deleted=false")
+//everything TaskDTO is mapped from: project with its manager, the employee, and both users' roles
+@NamedEntityGraph(name = Task.WITH_PROJECT_AND_EMPLOYEE, attributeNodes = {
+        @NamedAttributeNode(value = "project", subgraph = "project"),
+        @NamedAttributeNode(value = "assignedEmployee", subgraph = "user")
+}, subgraphs = {
+        @NamedSubgraph(name = "project", attributeNodes = @NamedAttributeNode(value = "assignedManager", subgraph = "user")),
+        @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("role"))
+})
 public class Task extends BaseEntity {
 
+    public static final String WITH_PROJECT_AND_EMPLOYEE = "Task.withProjectAndEmployee";
+
     private String taskSubject;
     private String taskDetail;
 
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.HandlerMethod;
 
+import javax.servlet.http.HttpServletResponse;
 import java.lang.reflect.Method;
 import java.nio.file.AccessDeniedException;
 import java.util.Optional;
@@ -21,7 +22,8 @@ import java.util.Optional;
 public class ExceptionMessageHandler {
 
     @ExceptionHandler(TicketingProjectException.class)
-    public ResponseEntity<ResponseWrapper> serviceException(TicketingProjectException se){
+    public ResponseEntity<ResponseWrapper> serviceException(TicketingProjectException se, HttpServletResponse httpServletResponse) throws TicketingProjectException {
+        rethrowIfCommitted(se, httpServletResponse);
         String message = se.getMessage();
         return new ResponseEntity<>(ResponseWrapper.builder().success(false).code(HttpStatus.CONFLICT.value()).message(message).build(),HttpStatus.CONFLICT);
     }
@@ -33,7 +35,9 @@ public class ExceptionMessageHandler {
     }
 
     @ExceptionHandler({Exception.class, RuntimeException.class, Throwable.class, BadCredentialsException.class})
-    public ResponseEntity<ResponseWrapper> genericException(Throwable e, HandlerMethod handlerMethod) {
+    public ResponseEntity<ResponseWrapper> genericException(Throwable e, HandlerMethod handlerMethod, HttpServletResponse httpServletResponse) throws Throwable {
+
+        rethrowIfCommitted(e, httpServletResponse);
 
         Optional<DefaultExceptionMessageDto> defaultMessage = getMessageFromAnnotation(handlerMethod.getMethod());
         if (defaultMessage.isPresent() && !ObjectUtils.isEmpty(defaultMessage.get().getMessage())) {
@@ -47,6 +51,15 @@ public class ExceptionMessageHandler {
         }
         return new ResponseEntity<>(ResponseWrapper.builder().success(false).message("Action failed: An error occurred!").code(HttpStatus.INTERNAL_SERVER_ERROR.value()).build(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    //a streamed body may already be on the wire, an error body would be appended to it under the 200 status.
+    //Rethrown, the exception reaches the container, which closes the connection of a committed response
+    private static <T extends Throwable> void rethrowIfCommitted(T e, HttpServletResponse httpServletResponse) throws T {
+        if (httpServletResponse.isCommitted()) {
+            throw e;
+        }
+    }
+
     private Optional<DefaultExceptionMessageDto> getMessageFromAnnotation(Method method) {
         com.cybertek.annotation.DefaultExceptionMessage defaultExceptionMessage = method.getAnnotation(com.cybertek.annotation.DefaultExceptionMessage.class);
         if (defaultExceptionMessage != null) {
@@ -2,7 +2,9 @@ package com.cybertek.filter;
 
 import com.cybertek.entity.User;
 import com.cybertek.service.SecurityService;
+import com.cybertek.service.TokenRevocationService;
 import com.cybertek.util.JWTUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,10 +24,12 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
     private final SecurityService securityService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public SecurityFilter(JWTUtil jwtUtil, SecurityService securityService) {
+    public SecurityFilter(JWTUtil jwtUtil, SecurityService securityService, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
         this.securityService = securityService;
+        this.tokenRevocationService = tokenRevocationService;
     }
     @Override
     protected void doFilterInternal(HttpServletRequest httpServletRequest,
@@ -33,23 +37,30 @@ public class SecurityFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String authorizationHeader = httpServletRequest.getHeader("Authorization");
-        String token = null;
+        Claims claims = null;
         String username = null;
 
         if (authorizationHeader != null) {
-            token = authorizationHeader.replace("Bearer","");
-            username = jwtUtil.extractUsername(token);
+            String token = authorizationHeader.replace("Bearer","");
+            claims = jwtUtil.verifyToken(token);
+            username = claims.getSubject();
         }
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = securityService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(token, userDetails) && checkIfUserIsValid(username)) {
+            if (jwtUtil.isStatelessToken(claims)) {
 
-                UsernamePasswordAuthenticationToken currentUser =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                currentUser
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
-                SecurityContextHolder.getContext().setAuthentication(currentUser);
+                //signature and expiration are already verified, only a user change since issue can reject it
+                if (!tokenRevocationService.isRevoked(username, claims.getIssuedAt())) {
+                    authenticate(jwtUtil.extractUserDetails(claims), httpServletRequest);
+                }
+
+            } else {
+
+                UserDetails userDetails = securityService.loadUserByUsername(username);
+
+                if (jwtUtil.validateClaims(claims, userDetails) && checkIfUserIsValid(username)) {
+                    authenticate(userDetails, httpServletRequest);
+                }
             }
         }
         filterChain.doFilter(httpServletRequest, httpServletResponse);
@@ -58,6 +69,14 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     }
 
+    private void authenticate(UserDetails userDetails, HttpServletRequest httpServletRequest) {
+        UsernamePasswordAuthenticationToken currentUser =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        currentUser
+                .setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
+        SecurityContextHolder.getContext().setAuthentication(currentUser);
+    }
+
     private boolean checkIfUserIsValid(String username) throws AccessDeniedException {
         User currentUser = securityService.loadUser(username);
         return currentUser != null && currentUser.getEnabled();
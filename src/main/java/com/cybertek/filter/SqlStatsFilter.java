@@ -0,0 +1,114 @@
+package com.cybertek.filter;
+
+import com.cybertek.util.SqlStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the JDBC statements, rows and statement time of every request. The figures go into response headers right
+ * before the response is committed and into {@code sql.request.*} meters tagged with the handler's uri template once
+ * the request is done. Requests above the statement threshold, or repeating one statement above the N+1 threshold, are logged.
+ */
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final long warnStatements;
+    private final int warnRepeated;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, boolean headers, long warnStatements, int warnRepeated) {
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+        this.warnStatements = warnStatements;
+        this.warnRepeated = warnRepeated;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpServletRequest,
+                                    HttpServletResponse httpServletResponse,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        SqlStats stats = SqlStats.begin();
+        StatsResponse response = new StatsResponse(httpServletResponse, stats);
+
+        try {
+            filterChain.doFilter(httpServletRequest, response);
+        } finally {
+            SqlStats.end();
+            //empty bodies and 304s are committed by the container after the filters return
+            response.writeHeaders();
+            record(httpServletRequest, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+
+        DistributionSummary.builder("sql.request.statements").baseUnit("statements").tags(tags).register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("sql.request.rows").baseUnit("rows").tags(tags).register(meterRegistry).record(stats.getRows());
+        Timer.builder("sql.request.time").tags(tags).register(meterRegistry).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > warnStatements || stats.getMostRepeatedCount() > warnRepeated) {
+            log.warn("{} {} ran {} statements reading or writing {} rows in {} ms, the most repeated one {} times: {}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRows(), millis(stats),
+                    stats.getMostRepeatedCount(), abbreviate(stats.getMostRepeatedQuery()));
+        }
+    }
+
+    private static String millis(SqlStats stats) {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(stats.getNanos()) / 1000.0);
+    }
+
+    private static String abbreviate(String query) {
+        return query == null || query.length() <= MAX_QUERY_LENGTH ? query : query.substring(0, MAX_QUERY_LENGTH) + "...";
+    }
+
+    private final class StatsResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStats stats;
+        private boolean written;
+
+        StatsResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (!headers || written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+            setHeader(TIME_HEADER, millis(stats));
+        }
+    }
+
+}
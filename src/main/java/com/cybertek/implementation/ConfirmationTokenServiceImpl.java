@@ -1,23 +1,32 @@
 package com.cybertek.implementation;
 
+import com.cybertek.dto.MailDTO;
 import com.cybertek.entity.ConfirmationToken;
+import com.cybertek.entity.User;
 import com.cybertek.exception.TicketingProjectException;
 import com.cybertek.repository.ConfirmationTokenRepository;
 import com.cybertek.service.ConfirmationTokenService;
+import com.cybertek.service.MailOutboxService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ConfirmationTokenServiceImpl implements ConfirmationTokenService {
 
+    @Value("${app.local-url}")
+    private String BASE_URL;
+
     private ConfirmationTokenRepository confirmationTokenRepository;
-    private JavaMailSender javaMailSender;
+    private MailOutboxService mailOutboxService;
 
-    public ConfirmationTokenServiceImpl(ConfirmationTokenRepository confirmationTokenRepository, JavaMailSender javaMailSender) {
+    public ConfirmationTokenServiceImpl(ConfirmationTokenRepository confirmationTokenRepository, MailOutboxService mailOutboxService) {
         this.confirmationTokenRepository = confirmationTokenRepository;
-        this.javaMailSender = javaMailSender;
+        this.mailOutboxService = mailOutboxService;
     }
 
     @Override
@@ -25,10 +34,41 @@ public class ConfirmationTokenServiceImpl implements ConfirmationTokenService {
         return confirmationTokenRepository.save(confirmationToken);
     }
 
+    //the token and its mail are written with the user, the outbox sends the mail after commit
+    @Override
+    @Transactional
+    public ConfirmationToken createConfirmation(User user) {
+        ConfirmationToken confirmationToken = confirmationTokenRepository.save(new ConfirmationToken(user));
+        mailOutboxService.enqueue(createConfirmationEmail(confirmationToken));
+        return confirmationToken;
+    }
+
     @Override
-    @Async
-    public void sendEmail(SimpleMailMessage email) {
-        javaMailSender.send(email);
+    @Transactional
+    public List<ConfirmationToken> createConfirmations(List<User> users) {
+        List<ConfirmationToken> confirmationTokens = confirmationTokenRepository.saveAll(users.stream().map(ConfirmationToken::new).collect(Collectors.toList()));
+        mailOutboxService.enqueueAll(confirmationTokens.stream().map(this::createConfirmationEmail).collect(Collectors.toList()));
+        return confirmationTokens;
+    }
+
+    @Override
+    public SimpleMailMessage createConfirmationEmail(ConfirmationToken confirmationToken) {
+
+        MailDTO mailDTO = MailDTO
+                .builder()
+                .emailTo(confirmationToken.getUser().getUserName())
+                .token(confirmationToken.getToken())
+                .subject("Confirm Registration")
+                .message("To confirm your account, please click here:")
+                .url(BASE_URL + "/confirmation?token=")
+                .build();
+
+        SimpleMailMessage mailMessage = new SimpleMailMessage();
+        mailMessage.setTo(mailDTO.getEmailTo());
+        mailMessage.setSubject(mailDTO.getSubject());
+        mailMessage.setText(mailDTO.getMessage() + mailDTO.getUrl() + mailDTO.getToken());
+
+        return mailMessage;
     }
 
     @Override
@@ -0,0 +1,153 @@
+package com.cybertek.implementation;
+
+import com.cybertek.dto.RecordingDTO;
+import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.service.FlightRecorderService;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One continuous flight recording kept in a bounded on-disk ring (max age and size), started with the application
+ * unless switched off. A dump copies what the ring holds into the configured directory and keeps recording, a stop
+ * dumps and closes it. File names are generated here, callers can not choose where a dump is written.
+ */
+@Service
+@Slf4j
+public class FlightRecorderServiceImpl implements FlightRecorderService {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path directory;
+    private final boolean startOnStartup;
+
+    private Recording recording;
+    private String lastFile;
+
+    public FlightRecorderServiceImpl(@Value("${flight-recorder.settings:default}") String settings,
+                                     @Value("${flight-recorder.max-age-minutes:360}") long maxAgeMinutes,
+                                     @Value("${flight-recorder.max-size-mb:250}") long maxSizeMb,
+                                     @Value("${flight-recorder.directory:${java.io.tmpdir}/ticketing-recordings}") String directory,
+                                     @Value("${flight-recorder.start-on-startup:true}") boolean startOnStartup) {
+        this.settings = settings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.directory = Paths.get(directory);
+        this.startOnStartup = startOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() throws TicketingProjectException {
+        if (startOnStartup) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @Override
+    public synchronized RecordingDTO status() {
+        if (recording == null) {
+            return RecordingDTO.builder().state("NONE").file(lastFile).build();
+        }
+        return toDto(recording);
+    }
+
+    @Override
+    public synchronized RecordingDTO start() throws TicketingProjectException {
+
+        if (recording != null) {
+            throw new TicketingProjectException("A recording is already running");
+        }
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new TicketingProjectException("Recording settings " + settings + " can not be read");
+        }
+        started.setName("ticketing");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSizeBytes);
+        started.start();
+
+        recording = started;
+        log.info("Flight recording {} started with {} settings", started.getId(), settings);
+        return toDto(started);
+    }
+
+    @Override
+    public synchronized RecordingDTO dump() throws TicketingProjectException {
+        return toDto(dumpCurrent());
+    }
+
+    @Override
+    public synchronized RecordingDTO stop() throws TicketingProjectException {
+
+        Recording stopped = dumpCurrent();
+        RecordingDTO recordingDTO = toDto(stopped);
+        recordingDTO.setState(RecordingState.STOPPED.name());
+
+        stopped.close();
+        recording = null;
+        return recordingDTO;
+    }
+
+    private Recording dumpCurrent() throws TicketingProjectException {
+
+        if (recording == null) {
+            throw new TicketingProjectException("No recording is running");
+        }
+
+        Path file = directory.resolve("ticketing-" + LocalDateTime.now().format(FILE_TIME) + "-" + recording.getId() + ".jfr");
+        try {
+            Files.createDirectories(directory);
+            recording.dump(file);
+        } catch (IOException e) {
+            log.error("Flight recording could not be written to {}", file, e);
+            throw new TicketingProjectException("Recording could not be written");
+        }
+
+        lastFile = file.toAbsolutePath().toString();
+        log.info("Flight recording {} dumped to {}", recording.getId(), lastFile);
+        return recording;
+    }
+
+    private RecordingDTO toDto(Recording recording) {
+        return RecordingDTO.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .maxAgeSeconds(recording.getMaxAge() == null ? null : recording.getMaxAge().getSeconds())
+                .maxSizeBytes(recording.getMaxSize())
+                .file(lastFile)
+                .build();
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.cybertek.implementation;
+
+import com.cybertek.entity.MailOutbox;
+import com.cybertek.repository.MailOutboxRepository;
+import com.cybertek.service.MailOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Mails are stored with the data they belong to and sent later by {@link #dispatch()}.
+ * A batch is claimed in a short transaction, handed to the mail sender in one call so it shares a single
+ * SMTP connection, and settled in a second transaction. A crash between sending and settling sends the batch
+ * again once the claim runs out, delivery is at least once.
+ */
+@Service
+@Slf4j
+public class MailOutboxServiceImpl implements MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender javaMailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter abandonedCounter;
+
+    public MailOutboxServiceImpl(MailOutboxRepository mailOutboxRepository, JavaMailSender javaMailSender,
+                                 TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                 @Value("${mail-outbox.batch-size:50}") int batchSize,
+                                 @Value("${mail-outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${mail-outbox.backoff-ms:30000}") long backoffMs,
+                                 @Value("${mail-outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                 @Value("${mail-outbox.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofMillis(backoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+
+        meterRegistry.gauge("mail.outbox.depth", depth);
+        this.sendTimer = Timer.builder("mail.outbox.send").description("Time to hand one batch to the mail server")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("mail.outbox.mails", "result", "sent");
+        this.retriedCounter = meterRegistry.counter("mail.outbox.mails", "result", "retried");
+        this.abandonedCounter = meterRegistry.counter("mail.outbox.mails", "result", "abandoned");
+    }
+
+    //joins the caller's transaction, the mail is only queued if the data it announces is committed
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(SimpleMailMessage mail) {
+        mailOutboxRepository.save(toOutbox(mail));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<SimpleMailMessage> mails) {
+        mailOutboxRepository.saveAll(mails.stream().map(MailOutboxServiceImpl::toOutbox).collect(Collectors.toList()));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${mail-outbox.initial-delay-ms:5000}",
+            fixedDelayString = "${mail-outbox.interval-ms:5000}")
+    public int dispatch() {
+
+        int sent = 0;
+        List<MailOutbox> batch;
+
+        //failed mails move to the future, so the loop ends once the due mails are drained
+        do {
+            batch = claim();
+            if (!batch.isEmpty()) {
+                sent += send(batch);
+            }
+        } while (batch.size() == batchSize);
+
+        depth.set(mailOutboxRepository.count());
+        return sent;
+    }
+
+    private List<MailOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MailOutbox> due = mailOutboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            for (MailOutbox mail : due) {
+                mail.setAttempts(mail.getAttempts() + 1);
+                mail.setNextAttemptAt(now.plus(claimTimeout));
+            }
+            return due;
+        });
+    }
+
+    private int send(List<MailOutbox> batch) {
+
+        Map<SimpleMailMessage, MailOutbox> mails = new IdentityHashMap<>();
+        for (MailOutbox mail : batch) {
+            mails.put(toMessage(mail), mail);
+        }
+
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start();
+
+        try {
+            javaMailSender.send(mails.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failed.putAll(e.getFailedMessages());
+            if (failed.isEmpty()) {
+                mails.keySet().forEach(message -> failed.put(message, e));
+            }
+        } catch (MailException e) {
+            mails.keySet().forEach(message -> failed.put(message, e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        List<Long> sentIds = mails.entrySet().stream()
+                .filter(entry -> !failed.containsKey(entry.getKey()))
+                .map(entry -> entry.getValue().getId())
+                .collect(Collectors.toList());
+
+        transactionTemplate.execute(status -> {
+            if (!sentIds.isEmpty()) {
+                mailOutboxRepository.deleteAllByIdIn(sentIds);
+            }
+            failed.forEach((message, e) -> retry(mails.get(message), e));
+            return null;
+        });
+
+        sentCounter.increment(sentIds.size());
+        return sentIds.size();
+    }
+
+    private void retry(MailOutbox mail, Exception e) {
+
+        mail.setLastError(truncate(e.getMessage()));
+
+        if (mail.getAttempts() >= maxAttempts) {
+            log.error("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), mail.getAttempts(), e.getMessage());
+            mail.setIsDeleted(true);
+            abandonedCounter.increment();
+        } else {
+            log.warn("Mail {} to {} failed (attempt {}), retrying: {}", mail.getId(), mail.getRecipient(), mail.getAttempts(), e.getMessage());
+            mail.setNextAttemptAt(LocalDateTime.now().plus(backoff(mail.getAttempts())));
+            retriedCounter.increment();
+        }
+
+        mailOutboxRepository.save(mail);
+    }
+
+    //doubles with every attempt up to the cap
+    private Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static MailOutbox toOutbox(SimpleMailMessage mail) {
+        return new MailOutbox(String.join(",", mail.getTo()), mail.getSubject(), mail.getText());
+    }
+
+    private static SimpleMailMessage toMessage(MailOutbox mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(mail.getRecipient().split(","));
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+}
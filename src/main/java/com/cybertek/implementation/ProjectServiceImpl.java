@@ -1,21 +1,36 @@
 package com.cybertek.implementation;
 
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.entity.Project;
+import com.cybertek.entity.ProjectTaskCounter;
 import com.cybertek.entity.User;
 import com.cybertek.enums.Status;
 import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.util.CursorUtil;
 import com.cybertek.util.MapperUtil;
 import com.cybertek.repository.ProjectRepository;
 import com.cybertek.repository.UserRepository;
 import com.cybertek.service.ProjectService;
+import com.cybertek.service.ProjectTaskCounterService;
 import com.cybertek.service.TaskService;
 import com.cybertek.service.UserService;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,28 +41,102 @@ public class ProjectServiceImpl implements ProjectService {
     private UserService userService;
     private TaskService taskService;
     private MapperUtil mapperUtil;
+    private ProjectTaskCounterService taskCounterService;
+    private CursorUtil cursorUtil;
+    private ProjectCatalogCache projectCatalogCache;
+    private TransactionTemplate cacheRefreshTransaction;
 
-    public ProjectServiceImpl(UserRepository userRepository, ProjectRepository projectRepository, UserService userService, TaskService taskService, MapperUtil mapperUtil) {
+    public ProjectServiceImpl(UserRepository userRepository, ProjectRepository projectRepository, UserService userService, TaskService taskService, MapperUtil mapperUtil, ProjectTaskCounterService taskCounterService, CursorUtil cursorUtil,
+                              ProjectCatalogCache projectCatalogCache, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.userService = userService;
         this.taskService = taskService;
         this.mapperUtil = mapperUtil;
+        this.taskCounterService = taskCounterService;
+        this.cursorUtil = cursorUtil;
+        this.projectCatalogCache = projectCatalogCache;
+        //runs after the writing transaction has committed, so it needs one of its own
+        this.cacheRefreshTransaction = new TransactionTemplate(transactionManager);
+        this.cacheRefreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cacheRefreshTransaction.setReadOnly(true);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProjectDTO getByProjectCode(String code) {
+
+        ProjectDTO cached = projectCatalogCache.get(code);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = projectCatalogCache.version();
         Project project = projectRepository.findByProjectCode(code);
-        return mapperUtil.convert(project,new ProjectDTO());
+        ProjectDTO dto = mapperUtil.convert(project,new ProjectDTO());
+        projectCatalogCache.put(dto, version);
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectDTO> listAllProjects(String cursor, Integer limit) throws TicketingProjectException {
+        int size = cursorUtil.limit(limit);
+        Pageable pageable = cursorUtil.pageable(size);
+        String afterCode = cursor == null ? null : cursorUtil.decode(cursor, 1)[0];
+
+        List<ProjectDTO> list = projectCatalogCache.page(afterCode, pageable.getPageSize());
+
+        if (list == null) {
+            loadCatalog();
+            list = projectCatalogCache.page(afterCode, pageable.getPageSize());
+        }
+
+        //more projects than the catalog may hold, seek in the database
+        if (list == null) {
+            list = afterCode == null
+                    ? projectRepository.findListView(pageable)
+                    : projectRepository.findListViewAfter(afterCode, pageable);
+        }
+
+        return cursorUtil.page(list, size, Function.identity(), obj -> cursorUtil.encode(obj.getProjectCode()));
     }
 
     @Override
-    public List<ProjectDTO> listAllProjects() {
-        List<Project> list = projectRepository.findAll(Sort.by("projectCode"));
-        return list.stream().map(obj -> mapperUtil.convert(obj,new ProjectDTO())).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResultVersionDTO listAllProjectsVersion() {
+        return projectRepository.findListViewVersion();
+    }
+
+    private void loadCatalog() {
+        long version = projectCatalogCache.version();
+        if (projectRepository.count() <= projectCatalogCache.getMaxSize()) {
+            projectCatalogCache.putCatalog(projectRepository.findListView(PageRequest.of(0, projectCatalogCache.getMaxSize() + 1)), version);
+        }
+    }
+
+    //the cache takes the committed state, a rolled back write leaves it untouched
+    private void projectChanged(String projectCode) {
+
+        Runnable refresh = () -> projectCatalogCache.projectChanged(projectCode, cacheRefreshTransaction.execute(status -> {
+            Project project = projectRepository.findByProjectCode(projectCode);
+            return project == null ? null : mapperUtil.convert(project, new ProjectDTO());
+        }));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh.run();
+                }
+            });
+        } else {
+            refresh.run();
+        }
     }
 
     @Override
+    @Transactional
     public ProjectDTO save(ProjectDTO dto) throws TicketingProjectException {
 
         Project foundProject = projectRepository.findByProjectCode(dto.getProjectCode());
@@ -59,12 +148,15 @@ public class ProjectServiceImpl implements ProjectService {
         Project obj = mapperUtil.convert(dto,new Project());
 
         Project createdProject = projectRepository.save(obj);
+        taskCounterService.create(createdProject.getId());
+        projectChanged(createdProject.getProjectCode());
 
         return mapperUtil.convert(createdProject,new ProjectDTO());
 
     }
 
     @Override
+    @Transactional
     public ProjectDTO update(ProjectDTO dto) throws TicketingProjectException {
 
         Project project = projectRepository.findByProjectCode(dto.getProjectCode());
@@ -76,12 +168,14 @@ public class ProjectServiceImpl implements ProjectService {
         Project convertedProject = mapperUtil.convert(dto,new Project());
 
         Project updatedProject = projectRepository.save(convertedProject);
+        projectChanged(dto.getProjectCode());
 
         return mapperUtil.convert(updatedProject,new ProjectDTO());
 
     }
 
     @Override
+    @Transactional
     public void delete(String code) throws TicketingProjectException {
 
         Project project = projectRepository.findByProjectCode(code);
@@ -90,6 +184,8 @@ public class ProjectServiceImpl implements ProjectService {
             throw new TicketingProjectException("Project does not exist");
         }
 
+        projectChanged(code);
+
         project.setIsDeleted(true);
 
         project.setProjectCode(project.getProjectCode() +  "-" + project.getId());
@@ -100,6 +196,7 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public ProjectDTO complete(String projectCode) throws TicketingProjectException {
 
         Project project = projectRepository.findByProjectCode(projectCode);
@@ -110,6 +207,7 @@ public class ProjectServiceImpl implements ProjectService {
 
         project.setProjectStatus(Status.COMPLETE);
         Project completedProject = projectRepository.save(project);
+        projectChanged(projectCode);
 
         return mapperUtil.convert(completedProject,new ProjectDTO());
     }
@@ -128,10 +226,17 @@ public class ProjectServiceImpl implements ProjectService {
             throw new TicketingProjectException("This manager does not have any project assigned");
         }
 
+        //counters are kept current by the task writes and reconciled against the tasks table on a schedule
+        Map<Long, ProjectTaskCounter> counters = taskCounterService.findAllByProjectIds(
+                list.stream().map(Project::getId).collect(Collectors.toList()));
+
         return list.stream().map(project -> {
             ProjectDTO obj = mapperUtil.convert(project,new ProjectDTO());
-            obj.setUnfinishedTaskCounts(taskService.totalNonCompletedTasks(project.getProjectCode()));
-            obj.setCompleteTaskCounts(taskService.totalCompletedTasks(project.getProjectCode()));
+            ProjectTaskCounter counter = counters.get(project.getId());
+            if (counter != null) {
+                obj.setCompleteTaskCounts((int) counter.getCompletedTasks());
+                obj.setUnfinishedTaskCounts((int) counter.getUnfinishedTasks());
+            }
             return obj;
         }).collect(Collectors.toList());
 
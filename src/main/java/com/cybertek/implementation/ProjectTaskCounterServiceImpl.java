@@ -0,0 +1,192 @@
+package com.cybertek.implementation;
+
+import com.cybertek.dto.ProjectTaskCountDTO;
+import com.cybertek.entity.ProjectTaskCounter;
+import com.cybertek.enums.Status;
+import com.cybertek.repository.ProjectRepository;
+import com.cybertek.repository.ProjectTaskCounterRepository;
+import com.cybertek.repository.TaskRepository;
+import com.cybertek.service.ProjectTaskCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ProjectTaskCounterServiceImpl implements ProjectTaskCounterService {
+
+    private ProjectTaskCounterRepository counterRepository;
+    private TaskRepository taskRepository;
+    private ProjectRepository projectRepository;
+    private TransactionTemplate reconcileTransaction;
+    private int batchSize;
+
+    public ProjectTaskCounterServiceImpl(ProjectTaskCounterRepository counterRepository, TaskRepository taskRepository,
+                                         ProjectRepository projectRepository, PlatformTransactionManager transactionManager,
+                                         @Value("${project.task-counters.reconcile.batch-size:100}") int batchSize) {
+        this.counterRepository = counterRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void create(Long projectId) {
+        counterRepository.insertIfMissing(projectId);
+    }
+
+    @Override
+    public void taskAdded(Long projectId, Status status) {
+        add(projectId, status, 1);
+    }
+
+    @Override
+    public void tasksAdded(Long projectId, Status status, long count) {
+        add(projectId, status, count);
+    }
+
+    @Override
+    public void taskRemoved(Long projectId, Status status) {
+        add(projectId, status, -1);
+    }
+
+    @Override
+    public void taskChanged(Long oldProjectId, Status oldStatus, Long newProjectId, Status newStatus) {
+        if (Objects.equals(oldProjectId, newProjectId) && isComplete(oldStatus) == isComplete(newStatus)) {
+            return;
+        }
+        add(oldProjectId, oldStatus, -1);
+        add(newProjectId, newStatus, 1);
+    }
+
+    @Override
+    public void allTasksRemoved(Long projectId) {
+        counterRepository.resetCounts(projectId);
+    }
+
+    @Override
+    public Map<Long, ProjectTaskCounter> findAllByProjectIds(Collection<Long> projectIds) {
+        return counterRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(ProjectTaskCounter::getProjectId, Function.identity()));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${project.task-counters.reconcile.initial-delay-ms:10000}",
+            fixedDelayString = "${project.task-counters.reconcile.interval-ms:3600000}")
+    public int reconcile() {
+
+        int drifted = 0;
+        Long lastProjectId = 0L;
+        List<Long> projectIds;
+
+        //one transaction per batch, task writes wait on the locked counters of one batch at a time only
+        do {
+            projectIds = projectRepository.findIdsAfter(lastProjectId, PageRequest.of(0, batchSize));
+            if (!projectIds.isEmpty()) {
+                List<Long> batch = projectIds;
+                drifted += reconcileTransaction.execute(status -> reconcileBatch(batch));
+                lastProjectId = projectIds.get(projectIds.size() - 1);
+            }
+        } while (projectIds.size() == batchSize);
+
+        if (drifted > 0) {
+            log.warn("Reconciled task counters of {} project(s)", drifted);
+        }
+
+        return drifted;
+    }
+
+    private int reconcileBatch(List<Long> projectIds) {
+
+        Set<Long> missing = new HashSet<>();
+        for (Long projectId : projectIds) {
+            if (counterRepository.insertIfMissing(projectId) > 0) {
+                missing.add(projectId);
+            }
+        }
+
+        //task writers update their counter row in the same transaction, so holding the batch's row locks
+        //while counting makes its counters and tasks comparable at one point in time
+        List<ProjectTaskCounter> counters = counterRepository.findAllByIdForUpdate(projectIds);
+
+        Map<Long, ProjectTaskCounter> expected = new HashMap<>();
+        for (ProjectTaskCountDTO count : taskRepository.countTasksByProjectAndStatus(projectIds)) {
+            ProjectTaskCounter counter = expected.computeIfAbsent(count.getProjectId(), id -> new ProjectTaskCounter(id, 0, 0));
+            if (isComplete(count.getTaskStatus())) {
+                counter.setCompletedTasks(counter.getCompletedTasks() + count.getTaskCount());
+            } else {
+                counter.setUnfinishedTasks(counter.getUnfinishedTasks() + count.getTaskCount());
+            }
+        }
+
+        int drifted = 0;
+
+        for (ProjectTaskCounter actual : counters) {
+            //projects without an entry have no live tasks
+            ProjectTaskCounter counter = expected.getOrDefault(actual.getProjectId(), new ProjectTaskCounter(actual.getProjectId(), 0, 0));
+            if (missing.contains(actual.getProjectId())) {
+                log.warn("Task counter missing for project {} (expected complete={}, unfinished={})",
+                        actual.getProjectId(), counter.getCompletedTasks(), counter.getUnfinishedTasks());
+                actual.setCompletedTasks(counter.getCompletedTasks());
+                actual.setUnfinishedTasks(counter.getUnfinishedTasks());
+                drifted++;
+            } else if (correct(actual, counter.getCompletedTasks(), counter.getUnfinishedTasks())) {
+                drifted++;
+            }
+        }
+
+        return drifted;
+    }
+
+    private void add(Long projectId, Status status, long delta) {
+
+        if (projectId == null) {
+            return;
+        }
+
+        long completed = isComplete(status) ? delta : 0;
+        long unfinished = isComplete(status) ? 0 : delta;
+
+        //in-place increment, the row lock it takes orders concurrent writers of the same project
+        if (counterRepository.addToCounts(projectId, completed, unfinished) == 0 && delta > 0) {
+            //projects created before the counters existed get their row here or from reconcile(),
+            //whichever inserts it first the other one only updates
+            counterRepository.insertIfMissing(projectId);
+            counterRepository.addToCounts(projectId, completed, unfinished);
+        }
+    }
+
+    private boolean correct(ProjectTaskCounter actual, long completed, long unfinished) {
+
+        if (actual.getCompletedTasks() == completed && actual.getUnfinishedTasks() == unfinished) {
+            return false;
+        }
+
+        log.warn("Task counter drift for project {}: complete {} -> {}, unfinished {} -> {}", actual.getProjectId(),
+                actual.getCompletedTasks(), completed, actual.getUnfinishedTasks(), unfinished);
+
+        actual.setCompletedTasks(completed);
+        actual.setUnfinishedTasks(unfinished);
+        return true;
+    }
+
+    private static boolean isComplete(Status status) {
+        return status == Status.COMPLETE;
+    }
+
+}
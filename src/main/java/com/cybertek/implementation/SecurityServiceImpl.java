@@ -1,5 +1,6 @@
 package com.cybertek.implementation;
 
+import com.cybertek.cache.PrincipalCache;
 import com.cybertek.dto.UserDTO;
 import com.cybertek.entity.User;
 import com.cybertek.util.MapperUtil;
@@ -23,17 +24,19 @@ public class SecurityServiceImpl implements SecurityService {
 
     private UserService userService;
     private MapperUtil mapperUtil;
+    private PrincipalCache principalCache;
 
-    public SecurityServiceImpl(UserService userService, MapperUtil mapperUtil) {
+    public SecurityServiceImpl(UserService userService, MapperUtil mapperUtil, PrincipalCache principalCache) {
         this.userService = userService;
         this.mapperUtil = mapperUtil;
+        this.principalCache = principalCache;
     }
 
     @SneakyThrows
     @Override
     public UserDetails loadUserByUsername(String s) throws UsernameNotFoundException {
 
-        UserDTO user = userService.findByUserName(s);
+        UserDTO user = findUser(s);
 
         if(user==null){
             throw new UsernameNotFoundException("This user does not exists");
@@ -45,10 +48,23 @@ public class SecurityServiceImpl implements SecurityService {
 
     @Override
     public User loadUser(String param) throws AccessDeniedException {
-        UserDTO user =  userService.findByUserName(param);
+        UserDTO user = findUser(param);
         return mapperUtil.convert(user,new User());
     }
 
+    private UserDTO findUser(String username) throws AccessDeniedException {
+
+        UserDTO user = principalCache.get(username);
+
+        if (user == null) {
+            long version = principalCache.version();
+            user = userService.findByUserName(username);
+            principalCache.put(username, user, version);
+        }
+
+        return user;
+    }
+
     private Collection<? extends GrantedAuthority> listAuthorities(UserDTO user){
         List<GrantedAuthority> authorityList = new ArrayList<>();
 
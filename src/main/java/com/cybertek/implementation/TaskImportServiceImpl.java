@@ -0,0 +1,206 @@
+package com.cybertek.implementation;
+
+import com.cybertek.dto.TaskImportErrorDTO;
+import com.cybertek.dto.TaskImportResultDTO;
+import com.cybertek.dto.TaskImportRowDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Status;
+import com.cybertek.repository.ProjectRepository;
+import com.cybertek.repository.TaskRepository;
+import com.cybertek.repository.UserRepository;
+import com.cybertek.service.ProjectTaskCounterService;
+import com.cybertek.service.TaskImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the upload row by row and persists it in fixed-size batches, each in its own transaction.
+ * Only one batch is held in memory, the projects and employees it references are loaded with one query each.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ProjectTaskCounterService taskCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public TaskImportServiceImpl(TaskRepository taskRepository, ProjectRepository projectRepository, UserRepository userRepository,
+                                 ProjectTaskCounterService taskCounterService, TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager, ObjectMapper objectMapper,
+                                 @Value("${task-import.batch-size:500}") int batchSize,
+                                 @Value("${task-import.max-errors:1000}") int maxErrors) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.taskCounterService = taskCounterService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.jsonReader = objectMapper.readerFor(TaskImportRowDTO.class);
+        this.csvReader = new CsvMapper().readerFor(TaskImportRowDTO.class).with(CsvSchema.emptySchema().withHeader());
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public TaskImportResultDTO importNdjson(InputStream inputStream) throws IOException {
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        //one document per line, a malformed line fails on its own instead of breaking the parser for the rest
+        return importRows(() -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.trim().isEmpty());
+            return line == null ? null : jsonReader.readValue(line);
+        });
+    }
+
+    @Override
+    public TaskImportResultDTO importCsv(InputStream inputStream) throws IOException {
+        MappingIterator<TaskImportRowDTO> rows = csvReader.readValues(inputStream);
+        return importRows(() -> rows.hasNextValue() ? rows.nextValue() : null);
+    }
+
+    private TaskImportResultDTO importRows(RowReader reader) throws IOException {
+
+        TaskImportResultDTO result = new TaskImportResultDTO();
+        Map<Long, TaskImportRowDTO> batch = new LinkedHashMap<>();
+        long rowNumber = 0;
+
+        while (true) {
+            rowNumber++;
+            TaskImportRowDTO row;
+            try {
+                row = reader.read();
+            } catch (JsonProcessingException e) {
+                reject(result, rowNumber, "Malformed row: " + e.getOriginalMessage());
+                continue;
+            }
+
+            if (row == null) {
+                break;
+            }
+
+            batch.put(rowNumber, row);
+
+            if (batch.size() == batchSize) {
+                persist(batch, result);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            persist(batch, result);
+        }
+
+        return result;
+    }
+
+    private void persist(Map<Long, TaskImportRowDTO> batch, TaskImportResultDTO result) {
+
+        Set<String> projectCodes = new HashSet<>();
+        Set<String> userNames = new HashSet<>();
+        batch.values().forEach(row -> {
+            projectCodes.add(row.getProjectCode());
+            userNames.add(row.getAssignedEmployee());
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            Map<String, Project> projects = projectRepository.findAllByProjectCodeIn(projectCodes).stream()
+                    .collect(Collectors.toMap(Project::getProjectCode, Function.identity()));
+            Map<String, User> employees = userRepository.findAllByUserNameIn(userNames).stream()
+                    .collect(Collectors.toMap(User::getUserName, Function.identity(), (first, second) -> first));
+
+            List<Task> tasks = new ArrayList<>();
+            Map<Long, Long> addedPerProject = new HashMap<>();
+
+            batch.forEach((rowNumber, row) -> {
+                Project project = projects.get(row.getProjectCode());
+                User employee = employees.get(row.getAssignedEmployee());
+
+                if (isBlank(row.getTaskSubject())) {
+                    reject(result, rowNumber, "Task subject is required");
+                } else if (project == null) {
+                    reject(result, rowNumber, "Project " + row.getProjectCode() + " does not exist");
+                } else if (employee == null) {
+                    reject(result, rowNumber, "Employee " + row.getAssignedEmployee() + " does not exist");
+                } else {
+                    tasks.add(task(row, project, employee));
+                    addedPerProject.merge(project.getId(), 1L, Long::sum);
+                }
+            });
+
+            taskRepository.saveAll(tasks);
+            addedPerProject.forEach((projectId, count) -> taskCounterService.tasksAdded(projectId, Status.OPEN, count));
+            entityManager.flush();
+            result.setImported(result.getImported() + tasks.size());
+        });
+
+        //the request's persistence context would otherwise keep every imported task
+        entityManager.clear();
+    }
+
+    private void reject(TaskImportResultDTO result, long rowNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new TaskImportErrorDTO(rowNumber, message));
+        }
+    }
+
+    private static Task task(TaskImportRowDTO row, Project project, User employee) {
+        Task task = new Task();
+        task.setProject(project);
+        task.setAssignedEmployee(employee);
+        task.setTaskSubject(row.getTaskSubject());
+        task.setTaskDetail(row.getTaskDetail());
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.now());
+        return task;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        //next row, null once the input is exhausted
+        TaskImportRowDTO read() throws IOException;
+    }
+
+}
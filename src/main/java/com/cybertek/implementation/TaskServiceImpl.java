@@ -1,22 +1,33 @@
 package com.cybertek.implementation;
 
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.dto.TaskDTO;
+import com.cybertek.entity.BaseEntityListener;
 import com.cybertek.entity.Project;
 import com.cybertek.entity.Task;
 import com.cybertek.entity.User;
 import com.cybertek.enums.Status;
 import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.util.CursorUtil;
 import com.cybertek.util.MapperUtil;
 import com.cybertek.repository.TaskRepository;
 import com.cybertek.repository.UserRepository;
+import com.cybertek.service.ProjectTaskCounterService;
 import com.cybertek.service.TaskService;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -24,12 +35,18 @@ public class TaskServiceImpl implements TaskService {
     private TaskRepository taskRepository;
     private UserRepository userRepository;
     private MapperUtil mapperUtil;
+    private ProjectTaskCounterService taskCounterService;
+    private CursorUtil cursorUtil;
+    private EntityManager entityManager;
 
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, MapperUtil mapperUtil) {
+    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, MapperUtil mapperUtil, ProjectTaskCounterService taskCounterService, CursorUtil cursorUtil, EntityManager entityManager) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.mapperUtil = mapperUtil;
+        this.taskCounterService = taskCounterService;
+        this.cursorUtil = cursorUtil;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -39,58 +56,55 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public List<TaskDTO> listAllTasks() {
-        List<Task> list = taskRepository.findAll();
-        return list.stream().map(obj ->mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> listAllTasks(String cursor, Integer limit) throws TicketingProjectException {
+        int size = cursorUtil.limit(limit);
+        Long lastId = cursor == null ? 0L : cursorUtil.decodeId(cursor);
+        List<TaskDTO> list = taskRepository.findListViewAfter(lastId, cursorUtil.pageable(size));
+        return cursorUtil.page(list, size, Function.identity(), obj -> cursorUtil.encode(obj.getId()));
     }
 
     @Override
+    @Transactional
     public TaskDTO save(TaskDTO dto) {
         dto.setTaskStatus(Status.OPEN);
         dto.setAssignedDate(LocalDate.now());
         Task task = mapperUtil.convert(dto,new Task());
         Task save = taskRepository.save(task);
+        taskCounterService.taskAdded(projectId(save), save.getTaskStatus());
         return mapperUtil.convert(save,new TaskDTO());
     }
 
     @Override
+    @Transactional
     public TaskDTO update(TaskDTO dto) throws TicketingProjectException {
 
-        taskRepository.findById(dto.getId()).orElseThrow(() -> new TicketingProjectException("Task does not exists"));
+        Task task = taskRepository.findById(dto.getId()).orElseThrow(() -> new TicketingProjectException("Task does not exists"));
+        Long oldProjectId = projectId(task);
+        Status oldStatus = task.getTaskStatus();
         Task convertedTask = mapperUtil.convert(dto,new Task());
         Task save = taskRepository.save(convertedTask);
+        taskCounterService.taskChanged(oldProjectId, oldStatus, projectId(save), save.getTaskStatus());
         return mapperUtil.convert(save,new TaskDTO());
 
 
     }
 
     @Override
+    @Transactional
     public void delete(long id) throws TicketingProjectException {
         Task foundTask = taskRepository.findById(id).orElseThrow(() -> new TicketingProjectException("Task does not exists"));
         foundTask.setIsDeleted(true);
         taskRepository.save(foundTask);
+        taskCounterService.taskRemoved(projectId(foundTask), foundTask.getTaskStatus());
     }
 
     @Override
-    public int totalNonCompletedTasks(String projectCode) {
-        return taskRepository.totalNonCompletedTasks(projectCode);
-    }
-
-    @Override
-    public int totalCompletedTasks(String projectCode) {
-        return taskRepository.totalCompletedTasks(projectCode);
-    }
-
-    @Override
+    @Transactional
     public void deleteByProject(ProjectDTO project) {
-        List<TaskDTO> taskDTOS = listAllByProject(project);
-        taskDTOS.forEach(taskDTO -> {
-            try {
-                delete(taskDTO.getId());
-            } catch (TicketingProjectException e) {
-                e.printStackTrace();
-            }
-        });
+        //counter row first: task writers of this project wait on it, so none slips in between the two updates
+        taskCounterService.allTasksRemoved(project.getId());
+        taskRepository.softDeleteAllByProjectId(project.getId(), LocalDateTime.now(), BaseEntityListener.currentUserId());
     }
 
 
@@ -108,18 +122,61 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ResultVersionDTO listAllTasksByStatusIsNotVersion(Status status) {
+        Long id = Long.parseLong(SecurityContextHolder.getContext().getAuthentication().getName());
+        return taskRepository.findVersionByTaskStatusIsNotAndEmployeeId(status, id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> listAllTasksByProjectManager() throws TicketingProjectException {
         String id = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findById(Long.parseLong(id)).orElseThrow(() -> new TicketingProjectException("This user does not exist"));
-        List<Task> tasks = taskRepository.findAllByProjectAssignedManager(user);
-        return tasks.stream().map(obj ->mapperUtil.convert(obj,new TaskDTO())).collect(Collectors.toList());
+        return taskRepository.findListViewByProjectManager(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResultVersionDTO listAllTasksByProjectManagerVersion() {
+        Long id = Long.parseLong(SecurityContextHolder.getContext().getAuthentication().getName());
+        return taskRepository.findVersionByProjectManagerId(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<TaskDTO> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            export(tasks, consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasksByProjectManager(Consumer<TaskDTO> consumer) throws TicketingProjectException {
+        String id = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findById(Long.parseLong(id)).orElseThrow(() -> new TicketingProjectException("This user does not exist"));
+        try (Stream<Task> tasks = taskRepository.streamAllByProjectAssignedManager(user)) {
+            export(tasks, consumer);
+        }
+    }
+
+    //rows are read through a database cursor and detached once written, so the persistence context stays small
+    private void export(Stream<Task> tasks, Consumer<TaskDTO> consumer) {
+        tasks.forEach(task -> {
+            consumer.accept(mapperUtil.convert(task,new TaskDTO()));
+            entityManager.detach(task);
+        });
+    }
+
+    @Override
+    @Transactional
     public TaskDTO updateStatus(TaskDTO dto) throws TicketingProjectException {
         Task task = taskRepository.findById(dto.getId()).orElseThrow(() -> new TicketingProjectException("Task does not exists"));
+        Status oldStatus = task.getTaskStatus();
         task.setTaskStatus(dto.getTaskStatus());
         Task save = taskRepository.save(task);
+        taskCounterService.taskChanged(projectId(task), oldStatus, projectId(save), save.getTaskStatus());
         return mapperUtil.convert(save,new TaskDTO());
     }
 
@@ -129,6 +186,10 @@ public class TaskServiceImpl implements TaskService {
         return tasks.stream().map(obj -> mapperUtil.convert(obj, new TaskDTO())).collect(Collectors.toList());
     }
 
+    private static Long projectId(Task task) {
+        return task.getProject() == null ? null : task.getProject().getId();
+    }
+
     //    @Override
 //    public List<TaskDTO> listAllTasksByStatus(Status status) {
 //        String username = SecurityContextHolder.getContext().getAuthentication().getName();
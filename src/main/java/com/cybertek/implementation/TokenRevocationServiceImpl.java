@@ -0,0 +1,47 @@
+package com.cybertek.implementation;
+
+import com.cybertek.service.TokenRevocationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers when a user was last changed, so stateless tokens issued before that moment are refused.
+ * An entry is only needed while such a token can still be valid, so it is dropped after the stateless
+ * token validity. The registry is per instance; short-lived tokens bound the window on other instances.
+ * <p>
+ * The moment is kept in seconds, the precision of the iat claim. A token issued in the same second as the change
+ * may predate it and is refused, a login in that second has to be retried.
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final Cache<String, Long> revokedAt;
+
+    public TokenRevocationServiceImpl(@Value("${security.jwt.stateless.validity-minutes:15}") long validityMinutes) {
+        this.revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(validityMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @Override
+    public void revoke(String username) {
+        revokedAt.put(username, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+    }
+
+    @Override
+    public boolean isRevoked(String username, Date issuedAt) {
+
+        Long revoked = revokedAt.getIfPresent(username);
+
+        if (revoked == null) {
+            return false;
+        }
+
+        return issuedAt == null || TimeUnit.MILLISECONDS.toSeconds(issuedAt.getTime()) <= revoked;
+    }
+}
@@ -0,0 +1,133 @@
+package com.cybertek.implementation;
+
+import com.cybertek.dto.UserDTO;
+import com.cybertek.dto.UserImportResultDTO;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.User;
+import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.repository.RoleRepository;
+import com.cybertek.repository.UserRepository;
+import com.cybertek.service.ConfirmationTokenService;
+import com.cybertek.service.UserImportService;
+import com.cybertek.util.MapperUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final ConfirmationTokenService confirmationTokenService;
+    private final MapperUtil mapperUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxUsers;
+
+    //BCrypt is CPU bound, one thread per core; a full queue makes the caller hash too instead of piling up work
+    private final ExecutorService hashingPool;
+
+    public UserImportServiceImpl(UserRepository userRepository, RoleRepository roleRepository,
+                                 ConfirmationTokenService confirmationTokenService, MapperUtil mapperUtil, PasswordEncoder passwordEncoder,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${user-import.max-users:1000}") int maxUsers,
+                                 @Value("${user-import.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.confirmationTokenService = confirmationTokenService;
+        this.mapperUtil = mapperUtil;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.maxUsers = maxUsers;
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    @Override
+    public List<UserImportResultDTO> importUsers(List<UserDTO> users) throws TicketingProjectException {
+
+        if (users.size() > maxUsers) {
+            throw new TicketingProjectException("At most " + maxUsers + " users can be imported at once");
+        }
+
+        Map<Long, Role> roles = roleRepository.findAll().stream().collect(Collectors.toMap(Role::getId, Function.identity()));
+        Set<String> taken = userRepository.findAllByUserNameIn(users.stream().map(UserDTO::getUserName).collect(Collectors.toSet()))
+                .stream().map(User::getUserName).collect(Collectors.toCollection(HashSet::new));
+
+        List<UserImportResultDTO> results = new ArrayList<>();
+        List<User> accepted = new ArrayList<>();
+        List<CompletableFuture<String>> passwords = new ArrayList<>();
+
+        for (UserDTO dto : users) {
+
+            String error = validate(dto, roles, taken);
+            if (error != null) {
+                results.add(new UserImportResultDTO(dto.getUserName(), false, error));
+                continue;
+            }
+
+            taken.add(dto.getUserName());
+
+            User user = mapperUtil.convert(dto, new User());
+            user.setRole(roles.get(dto.getRole().getId()));
+            accepted.add(user);
+            passwords.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(dto.getPassWord()), hashingPool));
+            results.add(new UserImportResultDTO(dto.getUserName(), true, "User has been created!"));
+        }
+
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).setPassWord(passwords.get(i).join());
+        }
+
+        //users, their tokens and their mails go out as three insert batches in one transaction
+        transactionTemplate.execute(status -> confirmationTokenService.createConfirmations(userRepository.saveAll(accepted)));
+
+        return results;
+    }
+
+    private static String validate(UserDTO dto, Map<Long, Role> roles, Set<String> taken) {
+        if (dto.getUserName() == null || dto.getUserName().trim().isEmpty()) {
+            return "Username is required";
+        }
+        if (taken.contains(dto.getUserName())) {
+            return "User Already Exists";
+        }
+        if (dto.getPassWord() == null || dto.getPassWord().isEmpty()) {
+            return "Password is required";
+        }
+        if (dto.getRole() == null || !roles.containsKey(dto.getRole().getId())) {
+            return "Role does not exist";
+        }
+        return null;
+    }
+
+}
@@ -1,27 +1,36 @@
 package com.cybertek.implementation;
 
+import com.cybertek.cache.PrincipalCache;
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.ProjectDTO;
 import com.cybertek.dto.TaskDTO;
 import com.cybertek.dto.UserDTO;
 import com.cybertek.entity.User;
 import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.util.CursorUtil;
 import com.cybertek.util.MapperUtil;
 import com.cybertek.repository.UserRepository;
+import com.cybertek.service.ConfirmationTokenService;
 import com.cybertek.service.ProjectService;
 import com.cybertek.service.TaskService;
+import com.cybertek.service.TokenRevocationService;
 import com.cybertek.service.UserService;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManagerFactory;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -31,19 +40,42 @@ public class UserServiceImpl implements UserService {
     private final TaskService taskService;
     private final MapperUtil mapperUtil;
     private final PasswordEncoder passwordEncoder;
-
-    public UserServiceImpl(UserRepository userRepository, @Lazy ProjectService projectService, TaskService taskService, MapperUtil mapperUtil, PasswordEncoder passwordEncoder) {
+    private final TokenRevocationService tokenRevocationService;
+    private final PrincipalCache principalCache;
+    private final ProjectCatalogCache projectCatalogCache;
+    private final CursorUtil cursorUtil;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ConfirmationTokenService confirmationTokenService;
+
+    public UserServiceImpl(UserRepository userRepository, @Lazy ProjectService projectService, TaskService taskService, MapperUtil mapperUtil, PasswordEncoder passwordEncoder, TokenRevocationService tokenRevocationService, PrincipalCache principalCache, ProjectCatalogCache projectCatalogCache, CursorUtil cursorUtil, EntityManagerFactory entityManagerFactory, ConfirmationTokenService confirmationTokenService) {
         this.userRepository = userRepository;
         this.projectService = projectService;
         this.taskService = taskService;
         this.mapperUtil = mapperUtil;
         this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationService = tokenRevocationService;
+        this.principalCache = principalCache;
+        this.projectCatalogCache = projectCatalogCache;
+        this.cursorUtil = cursorUtil;
+        this.entityManagerFactory = entityManagerFactory;
+        this.confirmationTokenService = confirmationTokenService;
     }
 
     @Override
-    public List<UserDTO> listAllUsers() {
-        List<User> list = userRepository.findAll(Sort.by("firstName"));
-        return list.stream().map(obj -> mapperUtil.convert(obj, new UserDTO())).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> listAllUsers(String cursor, Integer limit) throws TicketingProjectException {
+
+        int size = cursorUtil.limit(limit);
+        List<UserDTO> list;
+
+        if (cursor == null) {
+            list = userRepository.findListView(cursorUtil.pageable(size));
+        } else {
+            String[] keys = cursorUtil.decode(cursor, 2);
+            list = userRepository.findListViewAfter(keys[0], cursorUtil.toId(keys[1]), cursorUtil.pageable(size));
+        }
+
+        return cursorUtil.page(list, size, Function.identity(), obj -> cursorUtil.encode(obj.getFirstName() == null ? "" : obj.getFirstName(), obj.getId()));
     }
 
     @Override
@@ -60,6 +92,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDTO save(UserDTO dto) throws TicketingProjectException {
 
         User foundUser = userRepository.findByUserName(dto.getUserName());
@@ -72,6 +105,7 @@ public class UserServiceImpl implements UserService {
         user.setPassWord(passwordEncoder.encode(user.getPassWord()));
 
         User save = userRepository.save(user);
+        confirmationTokenService.createConfirmation(save);
 
         return mapperUtil.convert(save, new UserDTO());
 
@@ -103,6 +137,7 @@ public class UserServiceImpl implements UserService {
         convertedUser.setId(user.getId());
         //save updated user
         userRepository.save(convertedUser);
+        userChanged(user.getId(), dto.getUserName());
 
         return findByUserName(dto.getUserName());
     }
@@ -123,21 +158,24 @@ public class UserServiceImpl implements UserService {
 
         user.setIsDeleted(true);
         userRepository.save(user);
+        userChanged(user.getId(), username);
     }
 
     //hard delete
     @Override
     public void deleteByUserName(String username) {
         userRepository.deleteByUserName(username);
+        userChanged(username);
     }
 
 
     @Override
-    public List<UserDTO> listAllByRole(String role) {
-        List<User> users = userRepository.findAllByRoleDescriptionIgnoreCase(role);
-        return users.stream().map(obj -> {
-            return mapperUtil.convert(obj, new UserDTO());
-        }).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> listAllByRole(String role, String cursor, Integer limit) throws TicketingProjectException {
+        int size = cursorUtil.limit(limit);
+        Long lastId = cursor == null ? 0L : cursorUtil.decodeId(cursor);
+        List<UserDTO> users = userRepository.findListViewByRoleAfter(role, lastId, cursorUtil.pageable(size));
+        return cursorUtil.page(users, size, Function.identity(), obj -> cursorUtil.encode(obj.getId()));
     }
 
     @Override
@@ -160,10 +198,38 @@ public class UserServiceImpl implements UserService {
 
         user.setEnabled(true);
         User confirmedUser = userRepository.save(user);
+        userChanged(user.getId(), user.getUserName());
 
         return mapperUtil.convert(confirmedUser, new UserDTO());
     }
 
+    //drop everything authentication remembers about the user, so the change applies to the next request
+    private void userChanged(String username) {
+        principalCache.invalidate(username);
+        tokenRevocationService.revoke(username);
+        projectCatalogChanged();
+    }
+
+    //project views embed their manager's name, the catalog is reloaded once the change is committed
+    private void projectCatalogChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    projectCatalogCache.invalidateAll();
+                }
+            });
+        } else {
+            projectCatalogCache.invalidateAll();
+        }
+    }
+
+    //a cached entity is returned by id without the @Where filter, so a soft deleted user must not stay in the second level cache
+    private void userChanged(Long id, String username) {
+        entityManagerFactory.getCache().evict(User.class, id);
+        userChanged(username);
+    }
+
     private void checkForAuthorities(User user) throws AccessDeniedException {
 
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
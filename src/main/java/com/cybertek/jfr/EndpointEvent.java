@@ -0,0 +1,13 @@
+package com.cybertek.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.cybertek.Endpoint")
+@Label("Endpoint Call")
+@Description("A controller method handling a request")
+@Threshold("0 ms")
+public class EndpointEvent extends TicketingEvent {
+}
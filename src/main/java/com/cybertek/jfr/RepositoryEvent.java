@@ -0,0 +1,13 @@
+package com.cybertek.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.cybertek.Repository")
+@Label("Repository Call")
+@Description("A Spring Data repository method")
+@Threshold("1 ms")
+public class RepositoryEvent extends TicketingEvent {
+}
@@ -0,0 +1,13 @@
+package com.cybertek.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.cybertek.Service")
+@Label("Service Call")
+@Description("A public method of a service implementation")
+@Threshold("1 ms")
+public class ServiceEvent extends TicketingEvent {
+}
@@ -0,0 +1,31 @@
+package com.cybertek.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by the layer events. The JFR event duration is the call's duration, statements are the JDBC
+ * statements the call ran on its thread, -1 when no statement counting is active.
+ */
+@Category({"Ticketing"})
+@StackTrace(false)
+public abstract class TicketingEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("User Id")
+    public String userId;
+
+    @Label("Statements")
+    public long statements;
+
+    @Label("Outcome")
+    public String outcome;
+
+}
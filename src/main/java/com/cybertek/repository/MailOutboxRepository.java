@@ -0,0 +1,31 @@
+package com.cybertek.repository;
+
+import com.cybertek.entity.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox,Long> {
+
+    //-2 is LockOptions.SKIP_LOCKED, concurrent dispatchers claim disjoint batches instead of waiting on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutbox m WHERE m.nextAttemptAt <= ?1 ORDER BY m.nextAttemptAt, m.id")
+    List<MailOutbox> findDueForUpdate(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM MailOutbox m WHERE m.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+}
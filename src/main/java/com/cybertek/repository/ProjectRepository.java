@@ -1,19 +1,45 @@
 package com.cybertek.repository;
 
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.entity.Project;
 import com.cybertek.entity.User;
 import com.cybertek.enums.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project,Long> {
 
     Project findByProjectCode(String code);
+
+    List<Project> findAllByProjectCodeIn(Collection<String> codes);
     List<Project> findAllByAssignedManager(User manager);
 
     List<Project> findAllByProjectStatusIsNot(Status status);
 
+    //list views are read straight into DTOs, no entities are loaded or tracked
+    String LIST_VIEW = "SELECT new com.cybertek.dto.ProjectDTO(p.id, p.projectName, p.projectCode, " +
+            " m.id, m.firstName, m.lastName, m.userName, p.startDate, p.endDate, p.projectDetail, p.projectStatus) " +
+            " FROM Project p LEFT JOIN p.assignedManager m ";
+
+    //project_code has the "C" collation, the order ProjectCatalogCache pages the cached catalog in
+    @Query(LIST_VIEW + "ORDER BY p.projectCode")
+    List<ProjectDTO> findListView(Pageable pageable);
+
+    @Query(LIST_VIEW + "WHERE p.projectCode > ?1 ORDER BY p.projectCode")
+    List<ProjectDTO> findListViewAfter(String projectCode, Pageable pageable);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id > ?1 ORDER BY p.id")
+    List<Long> findIdsAfter(Long id, Pageable pageable);
+
+    @Query("SELECT new com.cybertek.dto.ResultVersionDTO(count(p), max(p.lastUpdateDateTime), max(m.lastUpdateDateTime)) " +
+            " FROM Project p LEFT JOIN p.assignedManager m")
+    ResultVersionDTO findListViewVersion();
+
 }
\ No newline at end of file
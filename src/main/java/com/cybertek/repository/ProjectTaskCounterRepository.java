@@ -0,0 +1,37 @@
+package com.cybertek.repository;
+
+import com.cybertek.entity.ProjectTaskCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectTaskCounterRepository extends JpaRepository<ProjectTaskCounter,Long> {
+
+    @Modifying
+    @Query("UPDATE ProjectTaskCounter c SET c.completedTasks = c.completedTasks + ?2, c.unfinishedTasks = c.unfinishedTasks + ?3 " +
+            " WHERE c.projectId = ?1")
+    int addToCounts(Long projectId, long completed, long unfinished);
+
+    @Modifying
+    @Query("UPDATE ProjectTaskCounter c SET c.completedTasks = 0, c.unfinishedTasks = 0 WHERE c.projectId = ?1")
+    int resetCounts(Long projectId);
+
+    //a concurrent first write of the same project waits for the other insert and then inserts nothing
+    @Modifying
+    @Query(value = "INSERT INTO project_task_counters (project_id, completed_tasks, unfinished_tasks) VALUES (?1, 0, 0) " +
+            " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfMissing(Long projectId);
+
+    //rows are locked in id order, the order every reconcile batch takes them in
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProjectTaskCounter c WHERE c.projectId IN ?1 ORDER BY c.projectId")
+    List<ProjectTaskCounter> findAllByIdForUpdate(Collection<Long> projectIds);
+
+}
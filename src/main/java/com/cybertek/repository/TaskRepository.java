@@ -1,36 +1,83 @@
 package com.cybertek.repository;
 
+import com.cybertek.dto.ProjectTaskCountDTO;
+import com.cybertek.dto.ResultVersionDTO;
+import com.cybertek.dto.TaskDTO;
 import com.cybertek.entity.Project;
 import com.cybertek.entity.Task;
 import com.cybertek.entity.User;
 import com.cybertek.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task,Long> {
 
-    @Query("SELECT count(t) FROM Task t WHERE t.project.projectCode = ?1 AND t.taskStatus <> 'COMPLETE' ")
-    int totalNonCompletedTasks(String projectCode);
-
-    @Query(value = "SELECT count(*) " +
-            " FROM tasks t JOIN projects p on t.project_id=p.id " +
-            " WHERE p.project_code = ?1 AND t.task_status = 'COMPLETE'",nativeQuery = true)
-    int totalCompletedTasks(String projectCode);
+    @Query("SELECT new com.cybertek.dto.ProjectTaskCountDTO(t.project.id, t.taskStatus, count(t)) " +
+            " FROM Task t WHERE t.project.id IN ?1 GROUP BY t.project.id, t.taskStatus")
+    List<ProjectTaskCountDTO> countTasksByProjectAndStatus(Collection<Long> projectIds);
 
     List<Task> findAllByProject(Project project);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = true, t.lastUpdateDateTime = ?2, t.lastUpdateUserId = ?3 " +
+            " WHERE t.project.id = ?1 AND t.isDeleted = false")
+    int softDeleteAllByProjectId(Long projectId, LocalDateTime lastUpdateDateTime, Long lastUpdateUserId);
+
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
     List<Task> findAllByTaskStatusIsNotAndAssignedEmployee(Status status, User user);
 
-    List<Task> findAllByProjectAssignedManager(User manager);
 
     List<Task> findAllByTaskStatusAndAssignedEmployee(Status status,User user);
 
+    @EntityGraph(Task.WITH_PROJECT_AND_EMPLOYEE)
     List<Task> findAllByAssignedEmployee(User user);
 
+    //list views are read straight into DTOs, no entities are loaded or tracked
+    String LIST_VIEW = "SELECT new com.cybertek.dto.TaskDTO(t.id, t.taskSubject, t.taskDetail, t.taskStatus, t.assignedDate, " +
+            " p.id, p.projectCode, p.projectName, p.projectStatus, e.id, e.firstName, e.lastName, e.userName) " +
+            " FROM Task t LEFT JOIN t.project p LEFT JOIN t.assignedEmployee e ";
+
+    @Query(LIST_VIEW + "WHERE t.id > ?1 ORDER BY t.id")
+    List<TaskDTO> findListViewAfter(Long id, Pageable pageable);
+
+    @Query(LIST_VIEW + "WHERE p.assignedManager = ?1 ORDER BY t.id")
+    List<TaskDTO> findListViewByProjectManager(User manager);
+
+    //covers the tasks, their projects, employees and project managers
+    String LIST_VERSION = "SELECT new com.cybertek.dto.ResultVersionDTO(count(t), max(t.lastUpdateDateTime), " +
+            " max(p.lastUpdateDateTime), max(e.lastUpdateDateTime), max(m.lastUpdateDateTime)) " +
+            " FROM Task t LEFT JOIN t.project p LEFT JOIN t.assignedEmployee e LEFT JOIN p.assignedManager m ";
+
+    @Query(LIST_VERSION + "WHERE m.id = ?1")
+    ResultVersionDTO findVersionByProjectManagerId(Long managerId);
+
+    @Query(LIST_VERSION + "WHERE t.taskStatus <> ?1 AND e.id = ?2")
+    ResultVersionDTO findVersionByTaskStatusIsNotAndEmployeeId(Status status, Long employeeId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project p LEFT JOIN FETCH p.assignedManager LEFT JOIN FETCH t.assignedEmployee " +
+            " ORDER BY t.id")
+    Stream<Task> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p LEFT JOIN FETCH p.assignedManager LEFT JOIN FETCH t.assignedEmployee " +
+            " WHERE p.assignedManager = ?1 ORDER BY t.id")
+    Stream<Task> streamAllByProjectAssignedManager(User manager);
+
 
 
 }
\ No newline at end of file
@@ -1,19 +1,46 @@
 package com.cybertek.repository;
 
+import com.cybertek.dto.UserDTO;
 import com.cybertek.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface UserRepository extends JpaRepository<User,Long> {
 
     User findByUserName(String username);
 
+    List<User> findAllByUserNameIn(Collection<String> usernames);
+
     @Transactional
     void deleteByUserName(String username);
 
+    //cached result ids are dropped by Hibernate whenever the users or roles table is written
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<User> findAllByRoleDescriptionIgnoreCase(String description);
+
+    //list views are read straight into DTOs, no entities are loaded or tracked
+    String LIST_VIEW = "SELECT new com.cybertek.dto.UserDTO(u.id, u.firstName, u.lastName, u.userName, u.enabled, u.phone, u.gender, " +
+            " r.id, r.description) FROM User u LEFT JOIN u.role r ";
+
+    //first_name is nullable, the seek runs on the same coalesce expression as the order and the index
+    @Query(LIST_VIEW + "ORDER BY coalesce(u.firstName, ''), u.id")
+    List<UserDTO> findListView(Pageable pageable);
+
+    @Query(LIST_VIEW + "WHERE coalesce(u.firstName, '') > ?1 OR (coalesce(u.firstName, '') = ?1 AND u.id > ?2) " +
+            "ORDER BY coalesce(u.firstName, ''), u.id")
+    List<UserDTO> findListViewAfter(String firstName, Long id, Pageable pageable);
+
+    @Query(LIST_VIEW + "WHERE upper(r.description) = upper(?1) AND u.id > ?2 ORDER BY u.id")
+    List<UserDTO> findListViewByRoleAfter(String description, Long id, Pageable pageable);
 }
\ No newline at end of file
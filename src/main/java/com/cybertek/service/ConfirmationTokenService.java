@@ -1,14 +1,21 @@
 package com.cybertek.service;
 
 import com.cybertek.entity.ConfirmationToken;
+import com.cybertek.entity.User;
 import com.cybertek.exception.TicketingProjectException;
 import org.springframework.mail.SimpleMailMessage;
 
+import java.util.List;
+
 public interface ConfirmationTokenService {
 
     ConfirmationToken save(ConfirmationToken confirmationToken);
 
-    void sendEmail(SimpleMailMessage email);
+    ConfirmationToken createConfirmation(User user);
+
+    List<ConfirmationToken> createConfirmations(List<User> users);
+
+    SimpleMailMessage createConfirmationEmail(ConfirmationToken confirmationToken);
 
     ConfirmationToken readByToken(String token) throws TicketingProjectException;
 
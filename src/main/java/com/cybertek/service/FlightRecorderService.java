@@ -0,0 +1,16 @@
+package com.cybertek.service;
+
+import com.cybertek.dto.RecordingDTO;
+import com.cybertek.exception.TicketingProjectException;
+
+public interface FlightRecorderService {
+
+    RecordingDTO status();
+
+    RecordingDTO start() throws TicketingProjectException;
+
+    RecordingDTO dump() throws TicketingProjectException;
+
+    RecordingDTO stop() throws TicketingProjectException;
+
+}
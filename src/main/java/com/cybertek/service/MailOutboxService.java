@@ -0,0 +1,15 @@
+package com.cybertek.service;
+
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+
+public interface MailOutboxService {
+
+    void enqueue(SimpleMailMessage mail);
+
+    void enqueueAll(List<SimpleMailMessage> mails);
+
+    int dispatch();
+
+}
@@ -1,6 +1,8 @@
 package com.cybertek.service;
 
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.entity.User;
 import com.cybertek.exception.TicketingProjectException;
 
@@ -10,7 +12,9 @@ public interface ProjectService {
 
     ProjectDTO getByProjectCode(String code);
 
-    List<ProjectDTO> listAllProjects();
+    CursorPage<ProjectDTO> listAllProjects(String cursor, Integer limit) throws TicketingProjectException;
+
+    ResultVersionDTO listAllProjectsVersion();
 
     ProjectDTO save(ProjectDTO dto) throws TicketingProjectException;
 
@@ -0,0 +1,27 @@
+package com.cybertek.service;
+
+import com.cybertek.entity.ProjectTaskCounter;
+import com.cybertek.enums.Status;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProjectTaskCounterService {
+
+    void create(Long projectId);
+
+    void taskAdded(Long projectId, Status status);
+
+    void tasksAdded(Long projectId, Status status, long count);
+
+    void taskRemoved(Long projectId, Status status);
+
+    void taskChanged(Long oldProjectId, Status oldStatus, Long newProjectId, Status newStatus);
+
+    void allTasksRemoved(Long projectId);
+
+    Map<Long, ProjectTaskCounter> findAllByProjectIds(Collection<Long> projectIds);
+
+    int reconcile();
+
+}
@@ -0,0 +1,14 @@
+package com.cybertek.service;
+
+import com.cybertek.dto.TaskImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TaskImportService {
+
+    TaskImportResultDTO importNdjson(InputStream inputStream) throws IOException;
+
+    TaskImportResultDTO importCsv(InputStream inputStream) throws IOException;
+
+}
@@ -1,18 +1,21 @@
 package com.cybertek.service;
 
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
 import com.cybertek.dto.TaskDTO;
 import com.cybertek.entity.User;
 import com.cybertek.enums.Status;
 import com.cybertek.exception.TicketingProjectException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
     TaskDTO findById(Long id) throws TicketingProjectException;
 
-    List<TaskDTO> listAllTasks();
+    CursorPage<TaskDTO> listAllTasks(String cursor, Integer limit) throws TicketingProjectException;
 
     TaskDTO save(TaskDTO dto);
 
@@ -20,18 +23,22 @@ public interface TaskService {
 
     void delete(long id) throws TicketingProjectException;
 
-    int totalNonCompletedTasks(String projectCode);
-
-    int totalCompletedTasks(String projectCode);
-
     void deleteByProject(ProjectDTO project);
 
     List<TaskDTO> listAllByProject(ProjectDTO project);
 
     List<TaskDTO> listAllTasksByStatusIsNot(Status status) throws TicketingProjectException;
 
+    ResultVersionDTO listAllTasksByStatusIsNotVersion(Status status);
+
     List<TaskDTO> listAllTasksByProjectManager() throws TicketingProjectException;
 
+    ResultVersionDTO listAllTasksByProjectManagerVersion();
+
+    void exportTasks(Consumer<TaskDTO> consumer);
+
+    void exportTasksByProjectManager(Consumer<TaskDTO> consumer) throws TicketingProjectException;
+
     TaskDTO updateStatus(TaskDTO dto) throws TicketingProjectException;
 
 //    List<TaskDTO> listAllTasksByStatus(Status status);
@@ -0,0 +1,11 @@
+package com.cybertek.service;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+
+    void revoke(String username);
+
+    boolean isRevoked(String username, Date issuedAt);
+
+}
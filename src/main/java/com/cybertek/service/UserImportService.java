@@ -0,0 +1,13 @@
+package com.cybertek.service;
+
+import com.cybertek.dto.UserDTO;
+import com.cybertek.dto.UserImportResultDTO;
+import com.cybertek.exception.TicketingProjectException;
+
+import java.util.List;
+
+public interface UserImportService {
+
+    List<UserImportResultDTO> importUsers(List<UserDTO> users) throws TicketingProjectException;
+
+}
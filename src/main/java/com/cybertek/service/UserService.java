@@ -1,5 +1,6 @@
 package com.cybertek.service;
 
+import com.cybertek.dto.CursorPage;
 import com.cybertek.dto.UserDTO;
 import com.cybertek.entity.User;
 import com.cybertek.exception.TicketingProjectException;
@@ -9,7 +10,7 @@ import java.util.List;
 
 public interface UserService {
 
-    List<UserDTO> listAllUsers();
+    CursorPage<UserDTO> listAllUsers(String cursor, Integer limit) throws TicketingProjectException;
 
     UserDTO findById(Long id) throws TicketingProjectException;
 
@@ -23,7 +24,7 @@ public interface UserService {
 
     void deleteByUserName(String username);
 
-    List<UserDTO> listAllByRole(String role);
+    CursorPage<UserDTO> listAllByRole(String role, String cursor, Integer limit) throws TicketingProjectException;
 
     Boolean checkIfUserCanBeDeleted(User user);
 
@@ -0,0 +1,170 @@
+package com.cybertek.util;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Copies the same-named properties of one bean type onto another.
+ * <p>
+ * Getters, setters and the no-arg constructor are bound once through {@link LambdaMetafactory},
+ * so a conversion is a loop of plain interface calls the JIT can inline, with no reflection per object.
+ * A property whose types differ is converted with the converter registered for that pair
+ * (e.g. {@code Project.assignedManager -> ProjectDTO.assignedManager}); anything else is skipped.
+ */
+public final class BeanConverter {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Supplier<Object> targetFactory;
+    private final PropertyCopier[] copiers;
+
+    private BeanConverter(Supplier<Object> targetFactory, PropertyCopier[] copiers) {
+        this.targetFactory = targetFactory;
+        this.copiers = copiers;
+    }
+
+    public Object convert(Object source) {
+        return convert(source, targetFactory.get());
+    }
+
+    public Object convert(Object source, Object target) {
+        for (PropertyCopier copier : copiers) {
+            copier.copy(source, target);
+        }
+        return target;
+    }
+
+    public static BeanConverter compile(Class<?> sourceType, Class<?> targetType,
+                                        BiFunction<Class<?>, Class<?>, BeanConverter> nestedConverters) {
+
+        Map<String, PropertyDescriptor> sourceProperties = new HashMap<>();
+        for (PropertyDescriptor property : describe(sourceType)) {
+            if (property.getReadMethod() != null) {
+                sourceProperties.put(property.getName(), property);
+            }
+        }
+
+        List<PropertyCopier> copiers = new ArrayList<>();
+        for (PropertyDescriptor targetProperty : describe(targetType)) {
+
+            PropertyDescriptor sourceProperty = sourceProperties.get(targetProperty.getName());
+            Method setter = targetProperty.getWriteMethod();
+
+            if (sourceProperty == null || setter == null) {
+                continue;
+            }
+
+            Class<?> from = wrap(sourceProperty.getPropertyType());
+            Class<?> to = wrap(targetProperty.getPropertyType());
+            BeanConverter nested = null;
+
+            if (!to.isAssignableFrom(from)) {
+                nested = nestedConverters.apply(from, to);
+                if (nested == null) {
+                    continue;
+                }
+            }
+
+            copiers.add(new PropertyCopier(getter(sourceProperty.getReadMethod()), setter(setter), nested));
+        }
+
+        return new BeanConverter(constructor(targetType), copiers.toArray(new PropertyCopier[0]));
+    }
+
+    private static PropertyDescriptor[] describe(Class<?> type) {
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type, Object.class);
+            return beanInfo.getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new IllegalStateException("Can not introspect " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> constructor(Class<?> type) {
+        try {
+            MethodHandle handle = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle,
+                    MethodType.methodType(type));
+            return (Supplier<Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Can not bind no-arg constructor of " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Can not bind getter " + method, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Can not bind setter " + method, e);
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static final class PropertyCopier {
+
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+        private final BeanConverter nested;
+
+        private PropertyCopier(Function<Object, Object> getter, BiConsumer<Object, Object> setter, BeanConverter nested) {
+            this.getter = getter;
+            this.setter = setter;
+            this.nested = nested;
+        }
+
+        private void copy(Object source, Object target) {
+            Object value = getter.apply(source);
+            // targets are always freshly constructed, so a null source value is left at the target's default
+            if (value == null) {
+                return;
+            }
+            setter.accept(target, nested == null ? value : nested.convert(value));
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.cybertek.util;
+
+import com.cybertek.dto.CursorPage;
+import com.cybertek.exception.TicketingProjectException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination helpers. A cursor carries the sort key of the last row of a page,
+ * the next page is read with a seek on that key instead of an OFFSET.
+ */
+@Component
+public class CursorUtil {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public CursorUtil(@Value("${pagination.default-limit:100}") int defaultLimit,
+                      @Value("${pagination.max-limit:1000}") int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public int limit(Integer requested) throws TicketingProjectException {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1) {
+            throw new TicketingProjectException("Limit must be greater than zero");
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    //one extra row tells whether another page exists
+    public Pageable pageable(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    //a null key would come back as the string "null", callers map nullable keys to the value their query sorts them by
+    public String encode(Object... keys) {
+        return Arrays.stream(keys)
+                .map(key -> ENCODER.encodeToString(Objects.requireNonNull(key, "cursor key").toString().getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.joining("."));
+    }
+
+    public String[] decode(String cursor, int keys) throws TicketingProjectException {
+
+        String[] parts = cursor.split("\\.", -1);
+
+        if (parts.length != keys) {
+            throw new TicketingProjectException("Invalid cursor");
+        }
+
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = new String(DECODER.decode(parts[i]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new TicketingProjectException("Invalid cursor");
+        }
+
+        return parts;
+    }
+
+    public Long decodeId(String cursor) throws TicketingProjectException {
+        return toId(decode(cursor, 1)[0]);
+    }
+
+    public Long toId(String key) throws TicketingProjectException {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new TicketingProjectException("Invalid cursor");
+        }
+    }
+
+    public <E, D> CursorPage<D> page(List<E> rows, int limit, Function<E, D> mapper, Function<E, String> cursor) {
+
+        String next = null;
+
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = cursor.apply(rows.get(limit - 1));
+        }
+
+        return new CursorPage<>(rows.stream().map(mapper).collect(Collectors.toList()), next);
+    }
+
+}
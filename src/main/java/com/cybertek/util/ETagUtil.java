@@ -0,0 +1,33 @@
+package com.cybertek.util;
+
+import com.cybertek.dto.ResultVersionDTO;
+import com.cybertek.entity.ResponseWrapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET helpers. The version of a list is checked against If-None-Match / If-Modified-Since
+ * before the list is read, so an unchanged list costs one aggregate query and an empty 304.
+ */
+@Component
+public class ETagUtil {
+
+    //clients may keep the response but have to revalidate it, otherwise Spring Security sends no-store
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    //true when the client copy is current, the 304 and its validators are already written and the handler returns null
+    public boolean checkNotModified(WebRequest request, ResultVersionDTO version) {
+        return request.checkNotModified(version.toETag(), version.toEpochMilli());
+    }
+
+    public ResponseEntity<ResponseWrapper> ok(ResultVersionDTO version, ResponseWrapper body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CACHE_CONTROL).eTag(version.toETag());
+        if (version.getLastModified() != null) {
+            builder.lastModified(version.toEpochMilli());
+        }
+        return builder.body(body);
+    }
+
+}
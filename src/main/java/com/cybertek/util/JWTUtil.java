@@ -1,24 +1,67 @@
 package com.cybertek.util;
 
 import com.cybertek.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JWTUtil {
 
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     @Value("${security.jwt.secret-key}")
     private final String secret = "cybertek";
 
+    //token digest -> claims of a token whose signature was already verified, dropped at the token's exp
+    private final Cache<String, Claims> verifiedTokens;
+
+    //tokens carry authority and enabled state and are trusted without loading the user
+    private final boolean stateless;
+    private final long statelessValidityMinutes;
+
+    public JWTUtil() {
+        this(10_000, false, 15);
+    }
+
+    @Autowired
+    public JWTUtil(@Value("${security.jwt.cache.max-size:10000}") long cacheSize,
+                   @Value("${security.jwt.stateless.enabled:false}") boolean stateless,
+                   @Value("${security.jwt.stateless.validity-minutes:15}") long statelessValidityMinutes) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new ClaimsExpiry())
+                .build();
+        this.stateless = stateless;
+        this.statelessValidityMinutes = statelessValidityMinutes;
+    }
+
     public String generateToken(User user) {
 
         Map<String, Object> claims = new HashMap<>();
@@ -26,27 +69,53 @@ public class JWTUtil {
         claims.put("id", user.getId());
         claims.put("firstName", user.getFirstName());
         claims.put("lastName", user.getLastName());
+        //only short-lived tokens may be trusted without loading the user, long-lived ones never carry these claims
+        if (stateless) {
+            claims.put("authority", user.getRole().getDescription());
+            claims.put("enabled", user.getEnabled());
+        }
         return createToken(claims, user.getUserName());
     }
 
     private String createToken(Map<String, Object> claims, String username) {
 
+        long validity = stateless
+                ? TimeUnit.MINUTES.toMillis(statelessValidityMinutes)
+                : 1000 * 60 * 60 * 10; //10 hours token validity
+
         return Jwts
                 .builder()
                 .setClaims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) //10 hours token validity
+                .setExpiration(new Date(System.currentTimeMillis() + validity))
                 .signWith(SignatureAlgorithm.HS256, secret).compact();
 
     }
 
+    /**
+     * Verifies the signature and expiration of the token once and returns its claims.
+     * A token seen before is answered from the cache with a single digest lookup.
+     */
+    public Claims verifyToken(String token) {
+
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+
+        if (claims == null) {
+            claims = extractAllClaims(token);
+            verifiedTokens.put(digest, claims);
+        }
+
+        return claims;
+    }
+
     private Claims extractAllClaims(String token) {
         return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolver.apply(claims);
     }
 
@@ -59,13 +128,62 @@ public class JWTUtil {
 
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String currentUser = extractAllClaims(token).get("id").toString();
-        return (currentUser.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(verifyToken(token), userDetails);
+    }
+
+    public Boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String currentUser = claims.get("id").toString();
+        return (currentUser.equals(userDetails.getUsername()) && !isTokenExpired(claims));
+    }
+
+    /**
+     * True when stateless mode is on and the token carries everything needed to authenticate within the
+     * stateless validity. Older tokens, and long-lived ones issued while the mode was off, take the database path.
+     */
+    public boolean isStatelessToken(Claims claims) {
+        return stateless
+                && claims.get("authority") != null
+                && Boolean.TRUE.equals(claims.get("enabled", Boolean.class))
+                && claims.getIssuedAt() != null
+                && claims.getExpiration() != null
+                && claims.getExpiration().getTime() - claims.getIssuedAt().getTime() <= TimeUnit.MINUTES.toMillis(statelessValidityMinutes);
+    }
+
+    public UserDetails extractUserDetails(Claims claims) {
+        GrantedAuthority authority = new SimpleGrantedAuthority(claims.get("authority", String.class));
+        return new org.springframework.security.core.userdetails.User(claims.get("id").toString(), "", Collections.singletonList(authority));
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
-}
\ No newline at end of file
+}
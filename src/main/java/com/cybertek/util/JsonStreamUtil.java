@@ -0,0 +1,85 @@
+package com.cybertek.util;
+
+import com.cybertek.exception.TicketingProjectException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes the ResponseWrapper envelope with Jackson's streaming generator, so a large
+ * "data" array goes to the client row by row instead of being built in memory first.
+ */
+@Component
+public class JsonStreamUtil {
+
+    private final ObjectMapper objectMapper;
+    //writeObject would flush the servlet stream, and so commit the response, after every row
+    private final ObjectWriter rowWriter;
+
+    public JsonStreamUtil(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <T> void writeResponse(HttpServletResponse response, String message, RowSource<T> source) throws IOException, TicketingProjectException {
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        //on failure the generator is not closed, so the rows still in its own buffer are never written
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeBooleanField("success", true);
+        generator.writeStringField("message", message);
+        generator.writeNumberField("code", HttpStatus.OK.value());
+        generator.writeArrayFieldStart("data");
+
+        try {
+            source.forEach(row -> {
+                try {
+                    rowWriter.writeValue(generator, row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            discard(response);
+            throw e.getCause();
+        } catch (TicketingProjectException | RuntimeException e) {
+            discard(response);
+            throw e;
+        }
+
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    //rows already handed to the servlet are dropped while the response is uncommitted, so the exception handler can
+    //answer with its own status. Once committed the 200 is out, the exception handler rethrows and the container
+    //closes the connection before the body is complete, so the client gets a transport error instead of a short array
+    private static void discard(HttpServletResponse response) {
+        if (!response.isCommitted()) {
+            response.resetBuffer();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<T> row) throws TicketingProjectException;
+    }
+
+}
@@ -1,29 +1,75 @@
 package com.cybertek.util;
 
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.RoleDTO;
+import com.cybertek.dto.TaskDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
 
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class MapperUtil {
 
     private final ModelMapper modelMapper;
 
+    //source type -> target type -> converter, built once at startup for every entity/DTO pair
+    private final Map<Class<?>, Map<Class<?>, BeanConverter>> converters = new ConcurrentHashMap<>();
+
     public MapperUtil(ModelMapper modelMapper) {
         this.modelMapper = modelMapper;
+
+        //registered leaf first, so nested properties find the converter of their own pair
+        register(Role.class, RoleDTO.class);
+        register(User.class, UserDTO.class);
+        register(Project.class, ProjectDTO.class);
+        register(Task.class, TaskDTO.class);
     }
 
     public <T> T convert(Object objectToBeConverted, T convertedObject) {
-        return modelMapper.map(objectToBeConverted, (Type) convertedObject.getClass());
+
+        Assert.notNull(objectToBeConverted, "source cannot be null");
+
+        BeanConverter converter = findConverter(objectToBeConverted.getClass(), convertedObject.getClass());
+
+        if (converter == null) {
+            return modelMapper.map(objectToBeConverted, (Type) convertedObject.getClass());
+        }
+
+        converter.convert(objectToBeConverted, convertedObject);
+        return convertedObject;
     }
 
-//    public <T> T  convertToEntity(Object objectToBeConverted, T convertedObject){
-//        return modelMapper.map(objectToBeConverted, (Type) convertedObject.getClass());
-//    }
-//
-//    public <T> T convertToDTO(Object objectToBeConverted, T convertedObject){
-//        return modelMapper.map(objectToBeConverted,(Type) convertedObject.getClass());
-//    }
+    private void register(Class<?> entityType, Class<?> dtoType) {
+        converters.computeIfAbsent(entityType, key -> new ConcurrentHashMap<>())
+                .put(dtoType, BeanConverter.compile(entityType, dtoType, this::findConverter));
+        converters.computeIfAbsent(dtoType, key -> new ConcurrentHashMap<>())
+                .put(entityType, BeanConverter.compile(dtoType, entityType, this::findConverter));
+    }
+
+    private BeanConverter findConverter(Class<?> sourceType, Class<?> targetType) {
+
+        //lazy associations arrive as Hibernate proxy subclasses, so fall back to the mapped superclass
+        for (Class<?> type = sourceType; type != null && type != Object.class; type = type.getSuperclass()) {
+            Map<Class<?>, BeanConverter> byTarget = converters.get(type);
+            BeanConverter converter = byTarget == null ? null : byTarget.get(targetType);
+            if (converter != null) {
+                if (type != sourceType) {
+                    converters.computeIfAbsent(sourceType, key -> new ConcurrentHashMap<>()).put(targetType, converter);
+                }
+                return converter;
+            }
+        }
+
+        return null;
+    }
 
 }
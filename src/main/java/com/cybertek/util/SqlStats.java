@@ -0,0 +1,78 @@
+package com.cybertek.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements, rows and time of the current request, collected by the data source proxy into a thread bound
+ * instance between {@link #begin()} and {@link #end()}. Statements outside a request (schedulers, startup) are not counted.
+ * The same statement text repeated many times within one request is the usual shape of an N+1 load.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long nanos;
+    private long startedAt;
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private String mostRepeatedQuery;
+    private int mostRepeatedCount;
+
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void statementStarted() {
+        startedAt = System.nanoTime();
+    }
+
+    public void statementFinished(String query, long affectedRows) {
+        statements++;
+        rows += affectedRows;
+        nanos += System.nanoTime() - startedAt;
+
+        int count = executions.merge(query, 1, Integer::sum);
+        if (count > mostRepeatedCount) {
+            mostRepeatedCount = count;
+            mostRepeatedQuery = query;
+        }
+    }
+
+    public void rowRead() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public String getMostRepeatedQuery() {
+        return mostRepeatedQuery;
+    }
+
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+
+}
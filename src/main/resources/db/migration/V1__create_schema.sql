@@ -0,0 +1,88 @@
+-- ids come from per-entity pooled sequences, each nextval reserves a block of 50 (see BaseEntity)
+create sequence role_seq start 1 increment 50;
+create sequence user_seq start 1 increment 50;
+create sequence project_seq start 1 increment 50;
+create sequence task_seq start 1 increment 50;
+create sequence confirmation_token_seq start 1 increment 50;
+
+create table roles
+(
+    id                    int8      not null primary key,
+    insert_date_time      timestamp not null,
+    insert_user_id        int8      not null,
+    is_deleted            boolean,
+    last_update_date_time timestamp not null,
+    last_update_user_id   int8      not null,
+    description           varchar(255)
+);
+
+create table users
+(
+    id                    int8      not null primary key,
+    insert_date_time      timestamp not null,
+    insert_user_id        int8      not null,
+    is_deleted            boolean,
+    last_update_date_time timestamp not null,
+    last_update_user_id   int8      not null,
+    enabled               boolean,
+    first_name            varchar(255),
+    gender                varchar(255),
+    last_name             varchar(255),
+    pass_word             varchar(255),
+    phone                 varchar(255),
+    user_name             varchar(255),
+    role_id               int8 constraint fk_users_role references roles
+);
+
+create table projects
+(
+    id                    int8      not null primary key,
+    insert_date_time      timestamp not null,
+    insert_user_id        int8      not null,
+    is_deleted            boolean,
+    last_update_date_time timestamp not null,
+    last_update_user_id   int8      not null,
+    end_date              date,
+    project_code          varchar(255) constraint uk_projects_project_code unique,
+    project_detail        varchar(255),
+    project_name          varchar(255),
+    project_status        varchar(255),
+    start_date            date,
+    manager_id            int8 constraint fk_projects_manager references users
+);
+
+create table tasks
+(
+    id                    int8      not null primary key,
+    insert_date_time      timestamp not null,
+    insert_user_id        int8      not null,
+    is_deleted            boolean,
+    last_update_date_time timestamp not null,
+    last_update_user_id   int8      not null,
+    assigned_date         date,
+    task_detail           varchar(255),
+    task_status           varchar(255),
+    task_subject          varchar(255),
+    user_id               int8 constraint fk_tasks_user references users,
+    project_id            int8 constraint fk_tasks_project references projects
+);
+
+create table confirmation_email
+(
+    id                    int8      not null primary key,
+    insert_date_time      timestamp not null,
+    insert_user_id        int8      not null,
+    is_deleted            boolean,
+    last_update_date_time timestamp not null,
+    last_update_user_id   int8      not null,
+    expire_date           date,
+    token                 varchar(255),
+    user_id               int8 constraint fk_confirmation_email_user references users
+);
+
+create table project_task_counters
+(
+    project_id       int8 not null primary key,
+    completed_tasks  int8 not null,
+    unfinished_tasks int8 not null
+);
@@ -0,0 +1,20 @@
+-- every entity except Role is read through @Where(is_deleted=false), so the indexes only cover live rows
+
+-- login, duplicate checks and the security filter
+create index idx_users_user_name on users (user_name) where is_deleted = false;
+-- keyset pages of /user and /user/{role}
+create index idx_users_first_name_id on users (first_name, id) where is_deleted = false;
+create index idx_users_role_id_id on users (role_id, id) where is_deleted = false;
+
+-- findByDescriptionIgnoreCase compares upper(description), roles have no soft delete filter
+create index idx_roles_upper_description on roles (upper(description));
+
+-- task counts per project and status, employee task lists per status
+create index idx_tasks_project_id_task_status on tasks (project_id, task_status) where is_deleted = false;
+create index idx_tasks_user_id_task_status on tasks (user_id, task_status) where is_deleted = false;
+
+-- projects of the signed in manager
+create index idx_projects_manager_id on projects (manager_id) where is_deleted = false;
+
+-- account confirmation link
+create index idx_confirmation_email_token on confirmation_email (token) where is_deleted = false;
@@ -0,0 +1,11 @@
+-- the seed rows take ids from the first block of each sequence, claim it so generated ids start after them
+select nextval('role_seq');
+select nextval('user_seq');
+insert into roles(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+VALUES (1, '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Admin'),
+       (2, '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Manager'),
+       (3, '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, 'Employee');
+insert into users(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, enabled,
+                  first_name, gender, last_name, user_name, role_id, pass_word)
+values (1, '2021-01-05 00:00:00', 1, false, '2021-01-05 00:00:00', 1, true, 'admin', 'MALE', 'admin', 'admin@admin.com',
+        1, '$2a$10$Q7ilQ6Hv11qpU0T7xfMzMeqxoPXkvhTVXxFqg0UL2xvLnhNqB7vba');
@@ -0,0 +1,21 @@
+-- mails written with the data they announce, drained by MailOutboxServiceImpl
+create sequence mail_outbox_seq start 1 increment 50;
+
+create table mail_outbox
+(
+    id                    int8      not null primary key,
+    insert_date_time      timestamp not null,
+    insert_user_id        int8      not null,
+    is_deleted            boolean,
+    last_update_date_time timestamp not null,
+    last_update_user_id   int8      not null,
+    recipient             varchar(255),
+    subject               varchar(255),
+    body                  text,
+    attempts              int4      not null,
+    next_attempt_at       timestamp not null,
+    last_error            varchar(1000)
+);
+
+-- the dispatcher reads due mails in this order, abandoned mails stay out of the index
+create index idx_mail_outbox_next_attempt_at_id on mail_outbox (next_attempt_at, id) where is_deleted = false;
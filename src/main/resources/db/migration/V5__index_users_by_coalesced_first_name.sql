@@ -0,0 +1,3 @@
+-- the /user pages order and seek on coalesce(first_name, '') so users without a first name are not skipped
+drop index idx_users_first_name_id;
+create index idx_users_first_name_id on users ((coalesce(first_name, '')), id) where is_deleted = false;
@@ -0,0 +1,3 @@
+-- the project list pages from a cached catalog sorted in code point order and falls back to seeking
+-- project_code > ? in the database, both have to agree on the order whatever the database locale is
+alter table projects alter column project_code type varchar(255) collate "C";
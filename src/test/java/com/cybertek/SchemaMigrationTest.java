@@ -0,0 +1,64 @@
+package com.cybertek;
+
+import com.cybertek.entity.BaseEntity;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The other tests build their schema from the entities on H2. This one runs the Flyway migrations on PostgreSQL
+ * and starts with Hibernate's {@code ddl-auto=validate}, the way the application runs, so the context only loads
+ * when the migrated schema matches the entities. Skipped where no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "mail-outbox.initial-delay-ms=3600000"
+})
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:12-alpine");
+
+    @Autowired
+    private Flyway flyway;
+
+    //the benchmark rows in com.cybertek.benchmark are entities too, the migrations only cover the application's
+    @TestConfiguration
+    @EntityScan(basePackageClasses = BaseEntity.class)
+    static class ApplicationEntities {
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQL95Dialect");
+    }
+
+    @Test
+    public void givenMigrations_applyAllAndValidateTheEntities() {
+
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+                .isNotEmpty()
+                .extracting(MigrationInfo::getState)
+                .containsOnly(MigrationState.SUCCESS);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.cybertek.aspect;
+
+import com.cybertek.controller.RoleController;
+import com.cybertek.dto.RoleDTO;
+import com.cybertek.service.RoleService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlightRecorderAspectTest {
+
+    @TempDir
+    Path directory;
+
+    private boolean failing;
+    private RoleController roleController;
+
+    @BeforeEach
+    void setUp() {
+        RoleService roleService = (RoleService) Proxy.newProxyInstance(RoleService.class.getClassLoader(), new Class<?>[]{RoleService.class},
+                (proxy, method, args) -> {
+                    if (failing) {
+                        throw new IllegalStateException("failed");
+                    }
+                    return Collections.singletonList(new RoleDTO(1L, "Admin"));
+                });
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new RoleController(roleService));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new FlightRecorderAspect(true));
+        roleController = proxyFactory.getProxy();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("1", null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenRecording_emitEndpointEventsWithOutcome() throws Exception {
+
+        List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.cybertek.Endpoint").withThreshold(Duration.ZERO);
+            recording.start();
+
+            roleController.readAll();
+            failing = true;
+            assertThrows(IllegalStateException.class, () -> roleController.readAll());
+
+            recording.stop();
+            Path file = directory.resolve("endpoint.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.cybertek.Endpoint"))
+                    .collect(Collectors.toList());
+        }
+
+        assertThat(events).hasSize(2).allSatisfy(event -> {
+            assertThat(event.getString("operation")).isEqualTo("RoleController.readAll");
+            assertThat(event.getString("userId")).isEqualTo("1");
+            assertThat(event.getLong("statements")).isZero();
+        });
+        assertThat(events).extracting(event -> event.getString("outcome")).containsExactly("success", "IllegalStateException");
+    }
+
+    @Test
+    public void givenNoRecording_callThrough() {
+        assertThat(roleController.readAll().getBody().getData()).asList().hasSize(1);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.cybertek.aspect;
+
+import com.cybertek.entity.ResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogValueTest {
+
+    @Test
+    public void givenResponse_renderStatusMessageAndFirstItems() {
+
+        ResponseEntity<ResponseWrapper> response = ResponseEntity.ok(new ResponseWrapper("Tasks are retrieved",
+                IntStream.range(0, 100).boxed().collect(Collectors.toList()), "next"));
+
+        assertThat(LogValue.of(response, 512, 3).toString())
+                .isEqualTo("<200 ResponseWrapper(message=Tasks are retrieved, data=size=100 [0, 1, 2, ...], next=next)>");
+    }
+
+    @Test
+    public void givenLongValue_stopAtMaxLength() {
+
+        StringBuilder buffer = new StringBuilder("prefix ");
+        LogValue.of(new Object[]{String.join("", Collections.nCopies(1000, "x")), "second"}, 20, 3).formatTo(buffer);
+
+        assertThat(buffer.toString()).isEqualTo("prefix [xxxxxxxxxxxxxxxxxxx...");
+        assertThat(LogValue.of(Arrays.asList("a", null), 20, 3).toString()).isEqualTo("size=2 [a, null]");
+    }
+
+}
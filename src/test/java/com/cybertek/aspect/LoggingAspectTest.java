@@ -0,0 +1,91 @@
+package com.cybertek.aspect;
+
+import com.cybertek.controller.ProjectController;
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.service.ProjectService;
+import com.cybertek.util.ETagUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoggingAspectTest {
+
+    private ProjectService projectService;
+    private ProjectController controller;
+    private CapturingAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        projectService = mock(ProjectService.class);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ProjectController(projectService, null, new ETagUtil()));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(0.0, 512, 3));
+        controller = proxyFactory.getProxy();
+
+        appender = new CapturingAppender();
+        appender.start();
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        context.getConfiguration().getLoggerConfig(LoggingAspect.class.getName()).addAppender(appender, null, null);
+        context.updateLoggers();
+    }
+
+    @AfterEach
+    void tearDown() {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        context.getConfiguration().getLoggerConfig(LoggingAspect.class.getName()).removeAppender(appender.getName());
+        context.updateLoggers();
+        appender.stop();
+    }
+
+    @Test
+    public void givenCheckedException_logAndRethrowIt() throws Exception {
+
+        when(projectService.save(any(ProjectDTO.class))).thenThrow(new TicketingProjectException("Project already exists"));
+
+        TicketingProjectException thrown = assertThrows(TicketingProjectException.class, () -> controller.create(new ProjectDTO()));
+        assertThat(thrown.getMessage()).isEqualTo("Project already exists");
+
+        //the aspect logs through the async loggers
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (appender.messages.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(appender.messages).hasSize(1);
+        assertThat(appender.messages.get(0))
+                .startsWith("After throwing")
+                .contains("ProjectController.create(..)", "Project already exists");
+    }
+
+    private static class CapturingAppender extends AbstractAppender {
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        CapturingAppender() {
+            super("capturing", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            messages.add(event.getMessage().getFormattedMessage());
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.cybertek.aspect;
+
+import com.cybertek.annotation.ExecutionTime;
+import com.cybertek.exception.TicketingProjectException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PerformanceAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedOperations operations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new TimedOperations());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new PerformanceAspect(meterRegistry, new double[]{0.5, 0.95, 0.99}, false));
+        operations = proxyFactory.getProxy();
+    }
+
+    @Test
+    public void givenTimedType_recordEveryCallWithPercentiles() {
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(operations.echo("value")).isEqualTo("value");
+        }
+
+        Timer timer = meterRegistry.get("method.execution")
+                .tags("class", "TimedOperations", "method", "echo", "outcome", "success", "exception", "none").timer();
+
+        assertThat(timer.count()).isEqualTo(10);
+        assertThat(timer.max(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(Arrays.stream(timer.takeSnapshot().percentileValues()).map(ValueAtPercentile::percentile))
+                .containsExactly(0.5, 0.95, 0.99);
+    }
+
+    @Test
+    public void givenFailingMethod_rethrowSameExceptionAndTagIt() {
+
+        TicketingProjectException thrown = assertThrows(TicketingProjectException.class, () -> operations.fail());
+        assertThat(thrown.getMessage()).isEqualTo("failed");
+
+        assertThat(meterRegistry.get("method.execution")
+                .tags("method", "fail", "outcome", "error", "exception", "TicketingProjectException").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("method.execution").tags("method", "fail", "outcome", "success").timer().count()).isZero();
+    }
+
+    @ExecutionTime
+    static class TimedOperations {
+
+        public String echo(String value) {
+            return value;
+        }
+
+        public void fail() throws TicketingProjectException {
+            throw new TicketingProjectException("failed");
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.cybertek.benchmark;
+
+import com.cybertek.dto.TaskDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Gender;
+import com.cybertek.enums.Status;
+import com.cybertek.util.MapperUtil;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final String PASSWORD = "Abc123";
+
+    //hashed with the default strength of the application's BCryptPasswordEncoder bean
+    static final String PASSWORD_HASH = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Role role() {
+        Role role = new Role("Employee");
+        role.setId(3L);
+        return role;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(3L);
+        user.setFirstName("Mike");
+        user.setLastName("Smith");
+        user.setUserName("mike@cybertek.com");
+        user.setPassWord(PASSWORD_HASH);
+        user.setEnabled(true);
+        user.setPhone("0123456987");
+        user.setGender(Gender.MALE);
+        user.setRole(role());
+        return user;
+    }
+
+    static Project project() {
+        Project project = new Project();
+        project.setId(1L);
+        project.setProjectCode("PRJ001");
+        project.setProjectName("Ticketing");
+        project.setAssignedManager(user());
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(30));
+        project.setProjectStatus(Status.OPEN);
+        project.setProjectDetail("Ticketing project");
+        return project;
+    }
+
+    static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTaskSubject("Task " + id);
+        task.setTaskDetail("Benchmark task " + id);
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.now());
+        task.setAssignedEmployee(user());
+        task.setProject(project());
+        return task;
+    }
+
+    static List<TaskDTO> taskDtos(MapperUtil mapperUtil, int size) {
+        List<TaskDTO> list = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            list.add(mapperUtil.convert(task(id), new TaskDTO()));
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.cybertek.benchmark;
+
+import com.cybertek.aspect.LoggingAspect;
+import com.cybertek.controller.TaskController;
+import com.cybertek.dto.ResultVersionDTO;
+import com.cybertek.dto.TaskDTO;
+import com.cybertek.service.TaskService;
+import com.cybertek.util.ETagUtil;
+import com.cybertek.util.MapperUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code GET /api/v1/task/project-manager} through {@link TaskController} with the service stubbed out, so only the
+ * controller and its logging advice are measured. The before fork runs the previous advice on synchronous loggers and a
+ * blocking file appender, the others run {@link LoggingAspect} on the async loggers; all of them write to target/benchmark-logs.
+ * A saturated ring buffer discards info events, add {@code -jvmArgsAppend -Dlog4j2.asyncQueueFullPolicy=Default}
+ * to measure with back pressure instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmark-after.properties")
+@Threads(4)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+
+    private TaskController withoutLogging;
+    private TaskController previousLogging;
+    private TaskController logging;
+    private TaskController sampledLogging;
+
+    @Setup
+    public void setUp() {
+
+        List<TaskDTO> tasks = BenchmarkFixtures.taskDtos(new MapperUtil(new ModelMapper()), 100);
+        ResultVersionDTO version = new ResultVersionDTO(100L, LocalDateTime.now(), LocalDateTime.now());
+
+        TaskService taskService = (TaskService) Proxy.newProxyInstance(TaskService.class.getClassLoader(), new Class<?>[]{TaskService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "listAllTasksByProjectManagerVersion":
+                            return version;
+                        case "listAllTasksByProjectManager":
+                            return tasks;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        withoutLogging = new TaskController(taskService, null, null, new ETagUtil());
+        previousLogging = proxy(withoutLogging, new PreviousLoggingAspect());
+        logging = proxy(withoutLogging, new LoggingAspect(1.0, 512, 3));
+        sampledLogging = proxy(withoutLogging, new LoggingAspect(0.1, 512, 3));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("2", null, Collections.emptyList()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object withoutLogging() throws Exception {
+        return withoutLogging.readAllByProjectManager(request());
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dlog4j.configurationFile=log4j2-benchmark-before.properties",
+            "-DLog4jContextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector"})
+    public Object previousLogging() throws Exception {
+        return previousLogging.readAllByProjectManager(request());
+    }
+
+    @Benchmark
+    public Object logging() throws Exception {
+        return logging.readAllByProjectManager(request());
+    }
+
+    @Benchmark
+    public Object sampledLogging() throws Exception {
+        return sampledLogging.readAllByProjectManager(request());
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/task/project-manager"), new MockHttpServletResponse());
+    }
+
+    private static TaskController proxy(TaskController target, Object aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+
+    //the advice LoggingAspect had before it rendered lazily and sampled
+    @Aspect
+    @Slf4j
+    public static class PreviousLoggingAspect {
+
+        @Before("execution(* com.cybertek.controller.TaskController.*(..))")
+        public void before(JoinPoint joinPoint) {
+            log.info("Before(User : {} Method : {} - Parameters : {}", SecurityContextHolder.getContext().getAuthentication().getName(),
+                    joinPoint.getSignature().toShortString(), joinPoint.getArgs());
+        }
+
+        @AfterReturning(pointcut = "execution(* com.cybertek.controller.TaskController.*(..))", returning = "results")
+        public void afterReturning(JoinPoint joinPoint, Object results) {
+            log.info("AfterReturning(User : {} Method : {} - Results : {}", SecurityContextHolder.getContext().getAuthentication().getName(),
+                    joinPoint.getSignature().toShortString(), results);
+        }
+    }
+
+}
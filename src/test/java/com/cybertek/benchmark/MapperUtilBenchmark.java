@@ -0,0 +1,98 @@
+package com.cybertek.benchmark;
+
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.RoleDTO;
+import com.cybertek.dto.TaskDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.util.MapperUtil;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the precompiled {@link MapperUtil} converters against the ModelMapper path they replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperUtilBenchmark {
+
+    private ModelMapper modelMapper;
+    private MapperUtil mapperUtil;
+    private Role role;
+    private User user;
+    private Project project;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        mapperUtil = new MapperUtil(modelMapper);
+        role = BenchmarkFixtures.role();
+        user = BenchmarkFixtures.user();
+        project = BenchmarkFixtures.project();
+        task = BenchmarkFixtures.task(10L);
+        taskDTO = mapperUtil.convert(task, new TaskDTO());
+    }
+
+    @Benchmark
+    public TaskDTO modelMapperTaskToDto() {
+        return modelMapper.map(task, (Type) new TaskDTO().getClass());
+    }
+
+    @Benchmark
+    public TaskDTO precompiledTaskToDto() {
+        return mapperUtil.convert(task, new TaskDTO());
+    }
+
+    @Benchmark
+    public Task modelMapperDtoToTask() {
+        return modelMapper.map(taskDTO, (Type) new Task().getClass());
+    }
+
+    @Benchmark
+    public Task precompiledDtoToTask() {
+        return mapperUtil.convert(taskDTO, new Task());
+    }
+
+    @Benchmark
+    public ProjectDTO modelMapperProjectToDto() {
+        return modelMapper.map(project, (Type) new ProjectDTO().getClass());
+    }
+
+    @Benchmark
+    public ProjectDTO precompiledProjectToDto() {
+        return mapperUtil.convert(project, new ProjectDTO());
+    }
+
+    @Benchmark
+    public UserDTO modelMapperUserToDto() {
+        return modelMapper.map(user, (Type) new UserDTO().getClass());
+    }
+
+    @Benchmark
+    public UserDTO precompiledUserToDto() {
+        return mapperUtil.convert(user, new UserDTO());
+    }
+
+    @Benchmark
+    public RoleDTO modelMapperRoleToDto() {
+        return modelMapper.map(role, (Type) new RoleDTO().getClass());
+    }
+
+    @Benchmark
+    public RoleDTO precompiledRoleToDto() {
+        return mapperUtil.convert(role, new RoleDTO());
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.cybertek.benchmark;
+
+import com.cybertek.entity.User;
+import com.cybertek.filter.SecurityFilter;
+import com.cybertek.implementation.TokenRevocationServiceImpl;
+import com.cybertek.service.SecurityService;
+import com.cybertek.util.JWTUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link SecurityFilter} with the user lookups stubbed out
+ * and a chain that does nothing, so only token handling and authentication setup are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterBenchmark {
+
+    //true measures the claims-only path, false the path that loads the user twice
+    @Param({"false", "true"})
+    private boolean stateless;
+
+    private SecurityFilter securityFilter;
+    private FilterChain filterChain;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+
+        User user = BenchmarkFixtures.user();
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(user.getId().toString(), user.getPassWord(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().getDescription())));
+
+        SecurityService securityService = new SecurityService() {
+            @Override
+            public UserDetails loadUserByUsername(String s) {
+                return userDetails;
+            }
+
+            @Override
+            public User loadUser(String param) {
+                return user;
+            }
+        };
+
+        JWTUtil jwtUtil = new JWTUtil(10_000, stateless, 15);
+        securityFilter = new SecurityFilter(jwtUtil, securityService, new TokenRevocationServiceImpl(15));
+        filterChain = (servletRequest, servletResponse) -> {
+        };
+
+        request = new MockHttpServletRequest("GET", "/api/v1/project");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws ServletException, IOException {
+        try {
+            securityFilter.doFilter(request, response, filterChain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.cybertek.benchmark;
+
+import com.cybertek.enums.Status;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts a batch of task rows through Hibernate with the old IDENTITY ids and with the pooled-lo
+ * sequence now used by BaseEntity. IDENTITY needs the generated key of every row, so Hibernate
+ * executes each insert on its own; sequence ids are known up front and the inserts go out as JDBC batches.
+ * Runs against in-memory H2, a networked database widens the gap by a round trip per row.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"100000"})
+    private int rows;
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        //per-statement debug logging from Hibernate would dominate the measurement
+        Configurator.setRootLevel(org.apache.logging.log4j.Level.WARN);
+
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, "jdbc:h2:mem:task-insert-benchmark;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.USER, "sa")
+                .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityTask.class)
+                .addAnnotatedClass(SequenceTask.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createQuery("DELETE FROM IdentityTask").executeUpdate();
+            session.createQuery("DELETE FROM SequenceTask").executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public void insertWithIdentity() {
+        insert(IdentityTask::new);
+    }
+
+    @Benchmark
+    public void insertWithPooledSequence() {
+        insert(SequenceTask::new);
+    }
+
+    private void insert(Supplier<? extends TaskRow> factory) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                TaskRow task = factory.get();
+                task.taskSubject = "Task " + i;
+                task.taskDetail = "Detail";
+                task.taskStatus = Status.OPEN;
+                task.assignedDate = LocalDate.now();
+                task.projectId = 1L;
+                task.employeeId = 3L;
+                session.persist(task);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    @MappedSuperclass
+    public abstract static class TaskRow {
+        String taskSubject;
+        String taskDetail;
+        @Enumerated(EnumType.STRING)
+        Status taskStatus;
+        LocalDate assignedDate;
+        Long projectId;
+        Long employeeId;
+    }
+
+    @Entity(name = "IdentityTask")
+    @Table(name = "identity_tasks")
+    public static class IdentityTask extends TaskRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+    }
+
+    @Entity(name = "SequenceTask")
+    @Table(name = "sequence_tasks")
+    public static class SequenceTask extends TaskRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_sequence")
+        @GenericGenerator(name = "pooled_sequence", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+                @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "sequence_tasks_seq"),
+                @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+                @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+        })
+        Long id;
+    }
+
+}
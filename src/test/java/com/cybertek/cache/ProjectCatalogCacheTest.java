@@ -0,0 +1,99 @@
+package com.cybertek.cache;
+
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.enums.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectCatalogCacheTest {
+
+    private final ProjectCatalogCache cache = new ProjectCatalogCache(3, 600, new SimpleMeterRegistry());
+
+    @Test
+    public void givenLoadedCatalog_pageAfterCode() {
+
+        assertThat(cache.page(null, 10)).isNull();
+
+        cache.putCatalog(Arrays.asList(project("PRJ2"), project("PRJ0"), project("PRJ1")), cache.version());
+
+        assertThat(codes(cache.page(null, 2))).containsExactly("PRJ0", "PRJ1");
+        assertThat(codes(cache.page("PRJ1", 2))).containsExactly("PRJ2");
+        assertThat(cache.page("PRJ2", 2)).isEmpty();
+    }
+
+    @Test
+    public void givenMixedCodes_pageInCodePointOrder() {
+
+        ProjectCatalogCache large = new ProjectCatalogCache(10, 600, new SimpleMeterRegistry());
+        large.putCatalog(Arrays.asList(project("prj-a"), project("PRJ-\uD83D\uDE00"), project("PRJ-\uFF5E"),
+                project("PRJ-B"), project("PRJ-\u00E9"), project("PRJ")), large.version());
+
+        //upper case before lower case and U+FF5E before the surrogate pair, as bytes compare under COLLATE "C"
+        assertThat(codes(large.page(null, 10)))
+                .containsExactly("PRJ", "PRJ-B", "PRJ-\u00E9", "PRJ-\uFF5E", "PRJ-\uD83D\uDE00", "prj-a");
+        assertThat(codes(large.page("PRJ-\uFF5E", 10))).containsExactly("PRJ-\uD83D\uDE00", "prj-a");
+    }
+
+    @Test
+    public void givenProjectChanges_writeThroughToBothCaches() {
+
+        cache.putCatalog(Arrays.asList(project("PRJ0"), project("PRJ1")), cache.version());
+
+        ProjectDTO completed = project("PRJ1");
+        completed.setProjectStatus(Status.COMPLETE);
+        cache.projectChanged("PRJ1", completed);
+        cache.projectChanged("PRJ2", project("PRJ2"));
+        cache.projectChanged("PRJ0", null);
+
+        assertThat(codes(cache.page(null, 10))).containsExactly("PRJ1", "PRJ2");
+        assertThat(cache.page(null, 10).get(0).getProjectStatus()).isEqualTo(Status.COMPLETE);
+        assertThat(cache.page(null, 10).get(0).getAssignedManager().getRole()).isNull();
+        assertThat(cache.get("PRJ1")).isSameAs(completed);
+        assertThat(cache.get("PRJ0")).isNull();
+    }
+
+    @Test
+    public void givenWriteDuringLoad_dropStaleLoad() {
+
+        long version = cache.version();
+        cache.projectChanged("PRJ0", project("PRJ0"));
+
+        cache.putCatalog(Arrays.asList(project("PRJ1")), version);
+        cache.put(project("PRJ1"), version);
+
+        assertThat(cache.page(null, 10)).isNull();
+        assertThat(cache.get("PRJ1")).isNull();
+        assertThat(cache.get("PRJ0")).isNotNull();
+    }
+
+    @Test
+    public void givenTooManyProjects_keepNoCatalog() {
+
+        cache.putCatalog(Arrays.asList(project("PRJ0"), project("PRJ1"), project("PRJ2"), project("PRJ3")), cache.version());
+        assertThat(cache.page(null, 10)).isNull();
+
+        cache.putCatalog(Arrays.asList(project("PRJ0"), project("PRJ1"), project("PRJ2")), cache.version());
+        cache.projectChanged("PRJ3", project("PRJ3"));
+        assertThat(cache.page(null, 10)).isNull();
+    }
+
+    private static String[] codes(List<ProjectDTO> projects) {
+        return projects.stream().map(ProjectDTO::getProjectCode).toArray(String[]::new);
+    }
+
+    private static ProjectDTO project(String code) {
+        return ProjectDTO.builder()
+                .projectCode(code)
+                .projectName("Project " + code)
+                .projectStatus(Status.OPEN)
+                .assignedManager(UserDTO.builder().id(1L).userName("manager@cybertek.com").build())
+                .build();
+    }
+
+}
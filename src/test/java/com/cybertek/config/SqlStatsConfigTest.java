@@ -0,0 +1,61 @@
+package com.cybertek.config;
+
+import com.cybertek.util.SqlStats;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatsConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        SqlStats.end();
+    }
+
+    @Test
+    public void givenDefaultProfile_countStatementsAndRows() throws Exception {
+
+        SqlStats stats = selectThreeRows(new MockEnvironment());
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getRows()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenProdProfile_countStatementsWithoutProxyingResultSets() throws Exception {
+
+        MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+        SqlStats stats = selectThreeRows(prod);
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getRows()).isZero();
+    }
+
+    private static SqlStats selectThreeRows(MockEnvironment environment) throws Exception {
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-stats-config");
+        DataSource dataSource = (DataSource) SqlStatsConfig.sqlStatsDataSourcePostProcessor(environment)
+                .postProcessAfterInitialization(h2, "dataSource");
+
+        SqlStats stats = SqlStats.begin();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT x FROM system_range(1, 3)")) {
+            while (resultSet.next()) {
+                resultSet.getLong(1);
+            }
+        }
+        return stats;
+    }
+
+}
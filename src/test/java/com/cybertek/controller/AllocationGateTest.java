@@ -0,0 +1,285 @@
+package com.cybertek.controller;
+
+import com.cybertek.cache.PrincipalCache;
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.ProjectTaskCounter;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Status;
+import com.cybertek.fixture.EntityFixtures;
+import com.cybertek.util.JWTUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bytes allocated on the calling thread per request for every GET endpoint under /api/v1, MockMvc runs the whole
+ * filter chain and handler on that thread. Each endpoint is warmed up, then the median of the measured requests is
+ * compared with src/test/resources/allocation-baseline.properties.
+ * <p>
+ * {@code -Dallocation.tolerance-percent=25} sets the allowed growth, {@code -Dallocation.update-baseline=true}
+ * rewrites the baseline from this run instead of checking it. Baselines are only comparable on the same JDK feature
+ * release, on any other one than in the baseline header the checks fail and ask for a new baseline.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:allocation-gate;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "mail-outbox.initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AllocationGateTest {
+
+    private static final Path BASELINE = Paths.get(System.getProperty("allocation.baseline", "src/test/resources/allocation-baseline.properties"));
+    private static final double TOLERANCE_PERCENT = Double.parseDouble(System.getProperty("allocation.tolerance-percent", "25"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("allocation.update-baseline");
+
+    private static final int PROJECTS = 10;
+    private static final int WARMUP = 200;
+    private static final int MEASURED = 51;
+
+    private static final String JAVA_VERSION_PREFIX = "# java ";
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCatalogCache projectCatalogCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    @Autowired
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private final Properties baseline = new Properties();
+    private Integer baselineJavaFeature;
+    private final Map<String, Long> measured = new TreeMap<>();
+
+    private User admin;
+    private User manager;
+    private User employee;
+    private Long taskId;
+
+    @BeforeAll
+    void setUp() throws IOException {
+
+        if (Files.exists(BASELINE)) {
+            try (Reader reader = Files.newBufferedReader(BASELINE)) {
+                baseline.load(reader);
+            }
+            //Properties skips comments, the jdk the baseline was recorded on is the header written by writeBaseline
+            baselineJavaFeature = Files.readAllLines(BASELINE).stream()
+                    .filter(line -> line.startsWith(JAVA_VERSION_PREFIX))
+                    .map(line -> Runtime.Version.parse(line.substring(JAVA_VERSION_PREFIX.length()).trim()).feature())
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Role adminRole = persist(new Role("Admin"));
+            Role managerRole = persist(new Role("Manager"));
+            Role employeeRole = persist(new Role("Employee"));
+            admin = persist(EntityFixtures.user("admin@cybertek.com", adminRole));
+            manager = persist(EntityFixtures.user("manager@cybertek.com", managerRole));
+            employee = persist(EntityFixtures.user("employee@cybertek.com", employeeRole));
+
+            for (int i = 0; i < PROJECTS; i++) {
+                Project project = persist(EntityFixtures.project(i, manager));
+                persist(EntityFixtures.task(project, employee, Status.OPEN));
+                persist(EntityFixtures.task(project, employee, Status.IN_PROGRESS));
+                Task completed = persist(EntityFixtures.task(project, employee, Status.COMPLETE));
+                persist(new ProjectTaskCounter(project.getId(), 1, 2));
+                taskId = completed.getId();
+            }
+        });
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_task_counters");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM roles");
+        projectCatalogCache.invalidateAll();
+        Stream.of(admin, manager, employee).forEach(user -> principalCache.invalidate(user.getUserName()));
+
+        if (UPDATE_BASELINE) {
+            writeBaseline();
+        }
+    }
+
+    //key is the mapping as declared, the supplier builds a concrete request for it
+    Stream<EndpointCase> endpoints() {
+        return Stream.of(
+                new EndpointCase("GET /api/v1/admin/recording", () -> admin, () -> get("/api/v1/admin/recording")),
+                new EndpointCase("GET /api/v1/project", () -> manager, () -> get("/api/v1/project")),
+                new EndpointCase("GET /api/v1/project/{projectCode}", () -> manager, () -> get("/api/v1/project/PRJ3")),
+                new EndpointCase("GET /api/v1/project/details", () -> manager, () -> get("/api/v1/project/details")),
+                new EndpointCase("GET /api/v1/role", () -> admin, () -> get("/api/v1/role")),
+                new EndpointCase("GET /api/v1/task", () -> manager, () -> get("/api/v1/task")),
+                new EndpointCase("GET /api/v1/task/export", () -> manager, () -> get("/api/v1/task/export")),
+                new EndpointCase("GET /api/v1/task/project-manager", () -> manager, () -> get("/api/v1/task/project-manager")),
+                new EndpointCase("GET /api/v1/task/project-manager/export", () -> manager, () -> get("/api/v1/task/project-manager/export")),
+                new EndpointCase("GET /api/v1/task/{id}", () -> manager, () -> get("/api/v1/task/" + taskId)),
+                new EndpointCase("GET /api/v1/task/employee", () -> employee, () -> get("/api/v1/task/employee")),
+                new EndpointCase("GET /api/v1/user", () -> admin, () -> get("/api/v1/user")),
+                new EndpointCase("GET /api/v1/user/{username}", () -> admin, () -> get("/api/v1/user/manager@cybertek.com")),
+                new EndpointCase("GET /api/v1/user/role", () -> admin, () -> get("/api/v1/user/role").param("role", "Manager"))
+        );
+    }
+
+    @Test
+    public void givenGetEndpoints_everyOneHasAnAllocationCase() {
+
+        Set<String> mapped = new TreeSet<>();
+        for (RequestMappingInfo info : handlerMapping.getHandlerMethods().keySet()) {
+            if (info.getMethodsCondition().getMethods().contains(RequestMethod.GET)) {
+                info.getPatternsCondition().getPatterns().stream()
+                        .filter(pattern -> pattern.startsWith("/api/v1/"))
+                        .forEach(pattern -> mapped.add("GET " + pattern));
+            }
+        }
+
+        Set<String> covered = new TreeSet<>();
+        endpoints().forEach(endpoint -> covered.add(endpoint.key));
+
+        assertThat(covered).as("allocation cases of the GET endpoints").isEqualTo(mapped);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    public void givenEndpoint_allocateWithinBaseline(EndpointCase endpoint) throws Exception {
+
+        if (!UPDATE_BASELINE) {
+            assertThat(baselineJavaFeature)
+                    .as("java release of %s, run with -Dallocation.update-baseline=true on this jdk to regenerate it", BASELINE)
+                    .isEqualTo(Runtime.version().feature());
+        }
+
+        RequestBuilder request = endpoint.request.get().header("Authorization", jwtUtil.generateToken(endpoint.user.get()));
+
+        for (int i = 0; i < WARMUP; i++) {
+            perform(request);
+        }
+
+        long[] samples = new long[MEASURED];
+        for (int i = 0; i < MEASURED; i++) {
+            long before = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+            perform(request);
+            samples[i] = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+        }
+        Arrays.sort(samples);
+        long bytes = samples[MEASURED / 2];
+        measured.put(endpoint.key, bytes);
+
+        if (UPDATE_BASELINE) {
+            return;
+        }
+
+        String expected = baseline.getProperty(endpoint.key);
+        assertThat(expected).as("no baseline for %s, run with -Dallocation.update-baseline=true", endpoint.key).isNotNull();
+
+        long limit = (long) (Long.parseLong(expected) * (1 + TOLERANCE_PERCENT / 100));
+        assertThat(bytes).as("bytes allocated per request by %s (baseline %s, tolerance %s%%)", endpoint.key, expected, TOLERANCE_PERCENT)
+                .isLessThanOrEqualTo(limit);
+    }
+
+    private void perform(RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private void writeBaseline() throws IOException {
+        Map<String, Long> merged = new TreeMap<>();
+        baseline.stringPropertyNames().forEach(key -> merged.put(key, Long.parseLong(baseline.getProperty(key))));
+        merged.putAll(measured);
+
+        try (Writer writer = Files.newBufferedWriter(BASELINE)) {
+            writer.write("# bytes allocated per request on the calling thread, written by AllocationGateTest with -Dallocation.update-baseline=true\n");
+            writer.write(JAVA_VERSION_PREFIX + System.getProperty("java.version") + "\n");
+            for (Map.Entry<String, Long> entry : merged.entrySet()) {
+                writer.write(entry.getKey().replace(" ", "\\ ") + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    static class EndpointCase {
+
+        private final String key;
+        private final Supplier<User> user;
+        private final Supplier<MockHttpServletRequestBuilder> request;
+
+        EndpointCase(String key, Supplier<User> user, Supplier<MockHttpServletRequestBuilder> request) {
+            this.key = key;
+            this.user = user;
+            this.request = request;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+}
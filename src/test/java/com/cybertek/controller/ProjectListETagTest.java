@@ -0,0 +1,123 @@
+package com.cybertek.controller;
+
+import com.cybertek.cache.PrincipalCache;
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.User;
+import com.cybertek.fixture.EntityFixtures;
+import com.cybertek.util.JWTUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//the project list body comes from the catalog cache and its ETag from the database, both have to follow a manager change
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-statements;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "mail-outbox.initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ProjectListETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCatalogCache projectCatalogCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    private User admin;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            admin = persist(EntityFixtures.user("admin@cybertek.com", persist(new Role("Admin"))));
+            manager = persist(EntityFixtures.user("manager@cybertek.com", persist(new Role("Manager"))));
+            for (int i = 0; i < 3; i++) {
+                persist(EntityFixtures.project(i, manager));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM roles");
+        projectCatalogCache.invalidateAll();
+        principalCache.invalidate(admin.getUserName());
+        principalCache.invalidate(manager.getUserName());
+    }
+
+    @Test
+    public void givenRenamedManager_serveNewETagWithNewBody() throws Exception {
+
+        String before = mockMvc.perform(get("/api/v1/project").header("Authorization", token(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].assignedManager.firstName").value("First"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String renamed = "{\"userName\":\"manager@cybertek.com\",\"firstName\":\"Renamed\",\"lastName\":\"Last\"," +
+                "\"passWord\":\"secret\",\"gender\":\"MALE\",\"role\":{\"id\":" + manager.getRole().getId() + ",\"description\":\"Manager\"}}";
+        mockMvc.perform(put("/api/v1/user").header("Authorization", token(admin))
+                .contentType(MediaType.APPLICATION_JSON).content(renamed))
+                .andExpect(status().isOk());
+
+        String after = mockMvc.perform(get("/api/v1/project").header("Authorization", token(admin))
+                .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].assignedManager.firstName").value("Renamed"))
+                .andExpect(jsonPath("$.data[2].assignedManager.firstName").value("Renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(after).isNotNull().isNotEqualTo(before);
+
+        mockMvc.perform(get("/api/v1/project").header("Authorization", token(admin))
+                .header(HttpHeaders.IF_NONE_MATCH, after))
+                .andExpect(status().isNotModified());
+    }
+
+    private String token(User user) {
+        return jwtUtil.generateToken(user);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+}
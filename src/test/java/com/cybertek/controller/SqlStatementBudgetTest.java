@@ -0,0 +1,160 @@
+package com.cybertek.controller;
+
+import com.cybertek.cache.PrincipalCache;
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.ProjectTaskCounter;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Status;
+import com.cybertek.filter.SqlStatements;
+import com.cybertek.filter.SqlStatsFilter;
+import com.cybertek.fixture.EntityFixtures;
+import com.cybertek.util.JWTUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//statement budgets of the read endpoints including the token filter's user lookups, one query per project or task would break them
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-statements;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "mail-outbox.initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+
+    private static final int PROJECTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectCatalogCache projectCatalogCache;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    private User manager;
+    private User employee;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Role managerRole = persist(new Role("Manager"));
+            Role employeeRole = persist(new Role("Employee"));
+            manager = persist(EntityFixtures.user("manager@cybertek.com", managerRole));
+            employee = persist(EntityFixtures.user("employee@cybertek.com", employeeRole));
+
+            for (int i = 0; i < PROJECTS; i++) {
+                Project project = persist(EntityFixtures.project(i, manager));
+                persist(EntityFixtures.task(project, employee, Status.OPEN));
+                persist(EntityFixtures.task(project, employee, Status.IN_PROGRESS));
+                taskId = persist(EntityFixtures.task(project, employee, Status.COMPLETE)).getId();
+                persist(new ProjectTaskCounter(project.getId(), 1, 2));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM project_task_counters");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM roles");
+        projectCatalogCache.invalidateAll();
+        principalCache.invalidate(manager.getUserName());
+        principalCache.invalidate(employee.getUserName());
+    }
+
+    @Test
+    public void givenProjects_readProjectEndpointsWithinBudget() throws Exception {
+
+        mockMvc.perform(get("/api/v1/project").header("Authorization", token(manager)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS))
+                .andExpect(SqlStatements.atMost(5));
+
+        mockMvc.perform(get("/api/v1/project/PRJ3").header("Authorization", token(manager)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(2));
+
+        mockMvc.perform(get("/api/v1/project/details").header("Authorization", token(manager)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS))
+                .andExpect(SqlStatements.atMost(3));
+    }
+
+    @Test
+    public void givenTasks_readTaskEndpointsWithinBudget() throws Exception {
+
+        mockMvc.perform(get("/api/v1/task").header("Authorization", token(manager)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS * 3))
+                .andExpect(SqlStatements.atMost(3));
+
+        mockMvc.perform(get("/api/v1/task/project-manager").header("Authorization", token(manager)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS * 3))
+                .andExpect(SqlStatements.atMost(3));
+
+        mockMvc.perform(get("/api/v1/task/employee").header("Authorization", token(employee)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(PROJECTS * 2))
+                .andExpect(SqlStatements.atMost(5));
+
+        mockMvc.perform(get("/api/v1/task/" + taskId).header("Authorization", token(manager)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.atMost(4));
+    }
+
+    @Test
+    public void givenAnyRequest_reportRowsAndTime() throws Exception {
+
+        mockMvc.perform(get("/api/v1/task").header("Authorization", token(manager)))
+                .andExpect(header().exists(SqlStatsFilter.TIME_HEADER))
+                .andExpect(result -> assertThat(Long.parseLong(result.getResponse().getHeader(SqlStatsFilter.ROWS_HEADER)))
+                        .isGreaterThanOrEqualTo(PROJECTS * 3));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private String token(User user) {
+        return jwtUtil.generateToken(user);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.cybertek.filter;
+
+import com.cybertek.entity.Role;
+import com.cybertek.entity.User;
+import com.cybertek.service.SecurityService;
+import com.cybertek.service.TokenRevocationService;
+import com.cybertek.util.JWTUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SecurityFilterTest {
+
+    private final JWTUtil jwtUtil = new JWTUtil(10_000, true, 15);
+    private final SecurityService securityService = mock(SecurityService.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final SecurityFilter securityFilter = new SecurityFilter(jwtUtil, securityService, tokenRevocationService);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenStatelessToken_authenticateWithoutLoadingTheUser() throws Exception {
+
+        when(tokenRevocationService.isRevoked(anyString(), any())).thenReturn(false);
+
+        filter(jwtUtil.generateToken(user(true)));
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("1");
+        verifyNoInteractions(securityService);
+    }
+
+    @Test
+    public void givenLongLivedTokenOfDisabledUser_checkTheDatabaseAndRefuse() throws Exception {
+
+        when(securityService.loadUserByUsername("admin@admin.com")).thenReturn(new org.springframework.security.core.userdetails.User(
+                "1", "", Collections.singletonList(new SimpleGrantedAuthority("Admin"))));
+        when(securityService.loadUser("admin@admin.com")).thenReturn(user(false));
+
+        //10 hour token with the stateless claims, minted before the mode was switched on
+        long now = System.currentTimeMillis();
+        filter(Jwts.builder()
+                .setSubject("admin@admin.com")
+                .claim("id", 1L)
+                .claim("authority", "Admin")
+                .claim("enabled", true)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 10 * 60 * 60 * 1000))
+                .signWith(SignatureAlgorithm.HS256, "cybertek")
+                .compact());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(securityService).loadUser("admin@admin.com");
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    private void filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/project");
+        request.addHeader("Authorization", token);
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private static User user(boolean enabled) {
+        User user = new User();
+        user.setId(1L);
+        user.setUserName("admin@admin.com");
+        user.setEnabled(enabled);
+        user.setRole(new Role("Admin"));
+        return user;
+    }
+
+}
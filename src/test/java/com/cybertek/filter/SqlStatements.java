@@ -0,0 +1,33 @@
+package com.cybertek.filter;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers on the statement count {@link SqlStatsFilter} reports for a request,
+ * {@code .andExpect(SqlStatements.atMost(3))} keeps an endpoint from growing an N+1 unnoticed.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static ResultMatcher atMost(long max) {
+        return result -> assertThat(count(result.getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER)))
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static ResultMatcher exactly(long expected) {
+        return result -> assertThat(count(result.getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER)))
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    private static long count(String header) {
+        assertThat(header).as("%s header, is SqlStatsConfig active?", SqlStatsFilter.STATEMENTS_HEADER).isNotNull();
+        return Long.parseLong(header);
+    }
+
+}
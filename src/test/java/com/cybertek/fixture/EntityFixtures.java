@@ -0,0 +1,52 @@
+package com.cybertek.fixture;
+
+import com.cybertek.entity.Project;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Gender;
+import com.cybertek.enums.Status;
+
+import java.time.LocalDate;
+
+//unsaved entities with every required column set, for the tests that run against a database
+public final class EntityFixtures {
+
+    private EntityFixtures() {
+    }
+
+    public static User user(String userName, Role role) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUserName(userName);
+        user.setPassWord("secret");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(role);
+        return user;
+    }
+
+    public static Project project(int i, User manager) {
+        Project project = new Project();
+        project.setProjectCode("PRJ" + i);
+        project.setProjectName("Project " + i);
+        project.setAssignedManager(manager);
+        project.setStartDate(LocalDate.now());
+        project.setEndDate(LocalDate.now().plusDays(10));
+        project.setProjectStatus(Status.OPEN);
+        return project;
+    }
+
+    public static Task task(Project project, User employee, Status status) {
+        Task task = new Task();
+        task.setTaskSubject("Task");
+        task.setTaskDetail("Detail");
+        task.setTaskStatus(status);
+        task.setAssignedDate(LocalDate.now());
+        task.setAssignedEmployee(employee);
+        task.setProject(project);
+        return task;
+    }
+
+}
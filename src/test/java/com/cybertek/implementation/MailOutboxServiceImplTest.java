@@ -0,0 +1,184 @@
+package com.cybertek.implementation;
+
+import com.cybertek.entity.MailOutbox;
+import com.cybertek.repository.MailOutboxRepository;
+import com.cybertek.service.MailOutboxService;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=outbox@cybertek.com",
+        "spring.mail.password=secret",
+        "spring.mail.properties.mail.smtp.starttls.required=false",
+        "mail-outbox.batch-size=2",
+        "mail-outbox.max-attempts=2"
+})
+@ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+@Import({MailOutboxServiceImpl.class, SimpleMeterRegistry.class})
+//the dispatcher works in its own transactions and only sees committed mails
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MailOutboxServiceImplTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("outbox@cybertek.com", "secret"));
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+    }
+
+    @Test
+    public void givenQueuedMails_sendEveryBatchAndEmptyOutbox() throws Exception {
+
+        enqueue(5);
+        double sent = counter("sent");
+        long batches = meterRegistry.get("mail.outbox.send").timer().count();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(mailOutboxService.dispatch()).isEqualTo(5);
+
+        assertThat(Arrays.stream(greenMail.getReceivedMessages()).map(MailOutboxServiceImplTest::recipient))
+                .containsExactlyInAnyOrder("user0@cybertek.com", "user1@cybertek.com", "user2@cybertek.com", "user3@cybertek.com", "user4@cybertek.com");
+        assertThat(mailOutboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("mail.outbox.depth").gauge().value()).isZero();
+        assertThat(counter("sent") - sent).isEqualTo(5);
+        //three batches of at most two mails
+        assertThat(meterRegistry.get("mail.outbox.send").timer().count() - batches).isEqualTo(3);
+    }
+
+    @Test
+    public void givenRolledBackTransaction_queueNothing() {
+
+        transactionTemplate.execute(status -> {
+            mailOutboxService.enqueue(mail("user@cybertek.com"));
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(mailOutboxService.dispatch()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThrows(IllegalTransactionStateException.class, () -> mailOutboxService.enqueue(mail("user@cybertek.com")));
+    }
+
+    @Test
+    public void givenServerDown_retryWithBackoffThenGiveUp() {
+
+        enqueue(1);
+        double abandoned = counter("abandoned");
+        greenMail.stop();
+
+        assertThat(mailOutboxService.dispatch()).isZero();
+
+        MailOutbox mail = mailOutboxRepository.findAll().get(0);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isNotNull();
+        assertThat(mail.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        assertThat(meterRegistry.get("mail.outbox.depth").gauge().value()).isEqualTo(1);
+
+        //not due yet
+        assertThat(mailOutboxService.dispatch()).isZero();
+        assertThat(mailOutboxRepository.findAll().get(0).getAttempts()).isEqualTo(1);
+
+        makeDue();
+        assertThat(mailOutboxService.dispatch()).isZero();
+
+        assertThat(mailOutboxRepository.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM mail_outbox WHERE is_deleted = true", Long.class)).isEqualTo(1);
+        assertThat(counter("abandoned") - abandoned).isEqualTo(1);
+    }
+
+    @Test
+    public void givenServerBack_sendRetriedMail() throws Exception {
+
+        enqueue(1);
+        greenMail.stop();
+        mailOutboxService.dispatch();
+
+        greenMail.start();
+        makeDue();
+
+        assertThat(mailOutboxService.dispatch()).isEqualTo(1);
+        assertThat(greenMail.getReceivedMessages()).extracting(MailOutboxServiceImplTest::recipient).containsExactly("user0@cybertek.com");
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    private void enqueue(int count) {
+        List<SimpleMailMessage> mails = IntStream.range(0, count).mapToObj(i -> mail("user" + i + "@cybertek.com")).collect(Collectors.toList());
+        transactionTemplate.execute(status -> {
+            mailOutboxService.enqueueAll(mails);
+            return null;
+        });
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("mail.outbox.mails").tag("result", result).counter().count();
+    }
+
+    private void makeDue() {
+        jdbcTemplate.update("UPDATE mail_outbox SET next_attempt_at = ?", LocalDateTime.now().minusSeconds(1));
+    }
+
+    private static SimpleMailMessage mail(String to) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(to);
+        mail.setSubject("Confirm Registration");
+        mail.setText("To confirm your account, please click here:");
+        return mail;
+    }
+
+    private static String recipient(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
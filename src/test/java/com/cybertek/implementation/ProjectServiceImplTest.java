@@ -0,0 +1,421 @@
+package com.cybertek.implementation;
+
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.dto.CursorPage;
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.ResultVersionDTO;
+import com.cybertek.dto.TaskDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.ProjectTaskCounter;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Status;
+import com.cybertek.repository.ProjectTaskCounterRepository;
+import com.cybertek.service.ProjectService;
+import com.cybertek.service.ProjectTaskCounterService;
+import com.cybertek.service.TaskService;
+import com.cybertek.service.UserService;
+import com.cybertek.util.CursorUtil;
+import com.cybertek.util.MapperUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.cybertek.fixture.EntityFixtures.project;
+import static com.cybertek.fixture.EntityFixtures.task;
+import static com.cybertek.fixture.EntityFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+//the counters are inserted with ON CONFLICT, which H2 only parses in PostgreSQL mode
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:project-service;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.initialization-mode=never",
+        "project.task-counters.reconcile.batch-size=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProjectServiceImpl.class, TaskServiceImpl.class, ProjectTaskCounterServiceImpl.class, MapperUtil.class, CursorUtil.class, ModelMapper.class,
+        ProjectCatalogCache.class, SimpleMeterRegistry.class})
+class ProjectServiceImplTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectTaskCounterService taskCounterService;
+
+    @Autowired
+    private ProjectTaskCounterRepository counterRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectCatalogCache projectCatalogCache;
+
+    @MockBean
+    private UserService userService;
+
+    private Statistics statistics;
+    private User manager;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Role managerRole = entityManager.persist(new Role("Manager"));
+        Role employeeRole = entityManager.persist(new Role("Employee"));
+        manager = entityManager.persist(user("manager@cybertek.com", managerRole));
+        employee = entityManager.persist(user("employee@cybertek.com", employeeRole));
+
+        authenticate(manager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        //test transactions roll back, the cache must not keep their rows
+        projectCatalogCache.invalidateAll();
+    }
+
+    @Test
+    public void givenManyProjects_countTasksWithConstantStatements() throws Exception {
+
+        createProjects(0, 2);
+        reconcile();
+        long statementsForTwoProjects = countStatements(() -> assertThat(projectService.listAllProjectDetails()).hasSize(2));
+
+        createProjects(2, 30);
+        reconcile();
+        long statementsForThirtyProjects = countStatements(() -> {
+            List<ProjectDTO> projects = projectService.listAllProjectDetails();
+            assertThat(projects).hasSize(30);
+            assertThat(projects).allSatisfy(project -> {
+                assertThat(project.getCompleteTaskCounts()).isEqualTo(1);
+                assertThat(project.getUnfinishedTaskCounts()).isEqualTo(2);
+            });
+        });
+
+        assertThat(statementsForThirtyProjects).isEqualTo(statementsForTwoProjects);
+    }
+
+    @Test
+    public void givenManyProjects_listTasksWithConstantStatements() throws Exception {
+
+        createProjects(0, 2);
+        long[] statementsForTwoProjects = countTaskListStatements(6);
+
+        createProjects(2, 12);
+        long[] statementsForTwelveProjects = countTaskListStatements(36);
+
+        //one query for the tasks with their project, manager, employee and roles, plus the current user lookup
+        assertThat(statementsForTwelveProjects).containsExactly(1, 2, 2, 1);
+        assertThat(statementsForTwoProjects).containsExactly(statementsForTwelveProjects);
+    }
+
+    @Test
+    public void givenListViews_readDtosWithoutLoadingEntities() throws Exception {
+
+        createProjects(0, 3);
+        statistics.clear();
+
+        CursorPage<ProjectDTO> projects = projectService.listAllProjects(null, 10);
+        CursorPage<TaskDTO> tasks = taskService.listAllTasks(null, 10);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+        assertThat(projects.getContent()).extracting(project -> project.getAssignedManager().getUserName())
+                .containsOnly("manager@cybertek.com");
+        assertThat(tasks.getContent()).hasSize(9).allSatisfy(task -> {
+            assertThat(task.getProject().getProjectCode()).startsWith("PRJ");
+            assertThat(task.getAssignedEmployee().getUserName()).isEqualTo("employee@cybertek.com");
+        });
+    }
+
+    @Test
+    public void givenLoadedCatalog_serveProjectsWithoutQueries() throws Exception {
+
+        createProjects(0, 3);
+        projectService.listAllProjects(null, 2);
+        projectService.getByProjectCode("PRJ1");
+
+        long statements = countStatements(() -> {
+            CursorPage<ProjectDTO> first = projectService.listAllProjects(null, 2);
+            CursorPage<ProjectDTO> second = projectService.listAllProjects(first.getNext(), 2);
+            assertThat(first.getContent()).extracting(ProjectDTO::getProjectCode).containsExactly("PRJ0", "PRJ1");
+            assertThat(second.getContent()).extracting(ProjectDTO::getProjectCode).containsExactly("PRJ2");
+            assertThat(second.getNext()).isNull();
+            assertThat(projectService.getByProjectCode("PRJ1").getAssignedManager().getRole().getDescription()).isEqualTo("Manager");
+        });
+
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    public void givenWrites_changeListVersions() throws Exception {
+
+        createProjects(0, 2);
+        ResultVersionDTO projects = projectService.listAllProjectsVersion();
+        ResultVersionDTO tasks = taskService.listAllTasksByProjectManagerVersion();
+
+        assertThat(projects.getCount()).isEqualTo(2);
+        assertThat(tasks.getCount()).isEqualTo(6);
+        assertThat(projectService.listAllProjectsVersion().toETag()).isEqualTo(projects.toETag());
+        assertThat(taskService.listAllTasksByProjectManagerVersion().toETag()).isEqualTo(tasks.toETag());
+
+        //a joined row shows up in both lists
+        User changedManager = entityManager.find(User.class, manager.getId());
+        changedManager.setFirstName("Changed");
+        entityManager.flush();
+
+        ResultVersionDTO changedProjects = projectService.listAllProjectsVersion();
+        ResultVersionDTO changedTasks = taskService.listAllTasksByProjectManagerVersion();
+        assertThat(changedProjects.toETag()).isNotEqualTo(projects.toETag());
+        assertThat(changedTasks.toETag()).isNotEqualTo(tasks.toETag());
+
+        taskService.deleteByProject(projectService.getByProjectCode("PRJ0"));
+        entityManager.clear();
+
+        assertThat(taskService.listAllTasksByProjectManagerVersion().getCount()).isEqualTo(3);
+        assertThat(projectService.listAllProjectsVersion().toETag()).isEqualTo(changedProjects.toETag());
+    }
+
+    @Test
+    public void givenCursor_seekToNextPage() throws Exception {
+
+        createProjects(0, 5);
+
+        List<String> codes = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ProjectDTO> page = projectService.listAllProjects(cursor, 2);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(2);
+            page.getContent().forEach(project -> codes.add(project.getProjectCode()));
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        assertThat(codes).containsExactly("PRJ0", "PRJ1", "PRJ2", "PRJ3", "PRJ4");
+    }
+
+    @Test
+    public void givenTaskWrites_keepCountersInSameTransaction() throws Exception {
+
+        Project project = createProject(0);
+        taskCounterService.create(project.getId());
+
+        TaskDTO first = taskService.save(taskDTO(project));
+        TaskDTO second = taskService.save(taskDTO(project));
+        taskService.save(taskDTO(project));
+        entityManager.flush();
+        entityManager.clear();
+
+        second.setTaskStatus(Status.COMPLETE);
+        taskService.updateStatus(second);
+        taskService.delete(first.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        ProjectTaskCounter counter = counterRepository.findById(project.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(counter.getCompletedTasks()).isEqualTo(1);
+        assertThat(counter.getUnfinishedTasks()).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(taskCounterService.reconcile()).isZero();
+    }
+
+    @Test
+    public void givenManagerTasks_exportEveryLiveRow() throws Exception {
+
+        createProjects(0, 3);
+
+        List<TaskDTO> exported = new ArrayList<>();
+        taskService.exportTasksByProjectManager(exported::add);
+
+        assertThat(exported).hasSize(9);
+        assertThat(exported).extracting(task -> task.getProject().getProjectCode()).contains("PRJ0", "PRJ1", "PRJ2");
+        assertThat(exported).extracting(task -> task.getAssignedEmployee().getUserName()).containsOnly("employee@cybertek.com");
+    }
+
+    @Test
+    public void givenProjectWithTasks_softDeleteTasksInOneStatement() throws Exception {
+
+        createProjects(0, 2);
+        Project bigProject = entityManager.find(Project.class, projectId("PRJ1"));
+        for (int i = 0; i < 20; i++) {
+            entityManager.persist(task(bigProject, employee, Status.OPEN));
+        }
+        entityManager.flush();
+        reconcile();
+
+        long statementsForSmallProject = countStatements(() -> projectService.delete("PRJ0"));
+        long statementsForBigProject = countStatements(() -> projectService.delete("PRJ1"));
+
+        assertThat(statementsForBigProject).isEqualTo(statementsForSmallProject);
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT count(t) FROM Task t", Long.class)
+                .getSingleResult()).isZero();
+        //deleted rows are hidden from JPQL by @Where
+        List<?> updatedBy = entityManager.getEntityManager()
+                .createNativeQuery("SELECT DISTINCT last_update_user_id FROM tasks WHERE project_id = ?1")
+                .setParameter(1, bigProject.getId())
+                .getResultList();
+        assertThat(updatedBy).extracting(id -> ((Number) id).longValue()).containsExactly(manager.getId());
+        assertThat(counterRepository.findAll()).allSatisfy(counter -> {
+            assertThat(counter.getCompletedTasks()).isZero();
+            assertThat(counter.getUnfinishedTasks()).isZero();
+        });
+        entityManager.clear();
+        assertThat(reconcile()).isZero();
+    }
+
+    @Test
+    public void givenDriftedCounter_reconcileFromTasks() {
+
+        createProjects(0, 2);
+        assertThat(reconcile()).isEqualTo(2);
+
+        Long projectId = counterRepository.findAll().get(0).getProjectId();
+        counterRepository.addToCounts(projectId, 5, -1);
+        entityManager.clear();
+
+        assertThat(reconcile()).isEqualTo(1);
+
+        ProjectTaskCounter counter = counterRepository.findById(projectId).orElseThrow(IllegalStateException::new);
+        assertThat(counter.getCompletedTasks()).isEqualTo(1);
+        assertThat(counter.getUnfinishedTasks()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenProjectWithoutCounter_insertItOnTheFirstTaskWrite() {
+
+        Project project = createProject(0);
+        entityManager.flush();
+
+        taskService.save(taskDTO(project));
+        taskService.save(taskDTO(project));
+        entityManager.flush();
+        entityManager.clear();
+
+        ProjectTaskCounter counter = counterRepository.findById(project.getId()).orElseThrow(IllegalStateException::new);
+        assertThat(counter.getCompletedTasks()).isZero();
+        assertThat(counter.getUnfinishedTasks()).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(reconcile()).isZero();
+    }
+
+    private Project createProject(int i) {
+        return entityManager.persist(project(i, manager));
+    }
+
+    private TaskDTO taskDTO(Project project) {
+        ProjectDTO projectDTO = new ProjectDTO();
+        projectDTO.setId(project.getId());
+        UserDTO employeeDTO = new UserDTO();
+        employeeDTO.setId(employee.getId());
+
+        TaskDTO task = new TaskDTO();
+        task.setTaskSubject("Task");
+        task.setTaskDetail("Detail");
+        task.setProject(projectDTO);
+        task.setAssignedEmployee(employeeDTO);
+        return task;
+    }
+
+    private void createProjects(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Project project = createProject(i);
+
+            entityManager.persist(task(project, employee, Status.OPEN));
+            entityManager.persist(task(project, employee, Status.IN_PROGRESS));
+            entityManager.persist(task(project, employee, Status.COMPLETE));
+
+            Task deleted = task(project, employee, Status.COMPLETE);
+            deleted.setIsDeleted(true);
+            entityManager.persist(deleted);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Long projectId(String projectCode) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT p.id FROM Project p WHERE p.projectCode = ?1", Long.class)
+                .setParameter(1, projectCode)
+                .getSingleResult();
+    }
+
+    private int reconcile() {
+        int drifted = taskCounterService.reconcile();
+        entityManager.flush();
+        entityManager.clear();
+        return drifted;
+    }
+
+    private long countStatements(ThrowingRunnable runnable) throws Exception {
+        statistics.clear();
+        runnable.run();
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+
+    private long[] countTaskListStatements(int liveTasks) throws Exception {
+        return new long[]{
+                countStatements(() -> assertThat(taskService.listAllTasks(null, 100).getContent()).hasSize(liveTasks)),
+                countStatements(() -> assertThat(taskService.listAllTasksByProjectManager()).hasSize(liveTasks)),
+                countStatements(() -> {
+                    authenticate(employee);
+                    try {
+                        assertThat(taskService.listAllTasksByStatusIsNot(Status.COMPLETE)).hasSize(liveTasks * 2 / 3);
+                    } finally {
+                        authenticate(manager);
+                    }
+                }),
+                countStatements(() -> assertThat(taskService.readAllByEmployee(employee)).hasSize(liveTasks))
+        };
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getId().toString(), null, Collections.emptyList()));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.cybertek.implementation;
+
+import com.cybertek.cache.PrincipalCache;
+import com.cybertek.dto.RoleDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.service.UserService;
+import com.cybertek.util.MapperUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SecurityServiceImplTest {
+
+    private UserService userService;
+    private PrincipalCache principalCache;
+    private SimpleMeterRegistry meterRegistry;
+    private SecurityServiceImpl securityService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userService = mock(UserService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(100, 300, meterRegistry);
+        securityService = new SecurityServiceImpl(userService, new MapperUtil(new ModelMapper()), principalCache);
+
+        when(userService.findByUserName("admin@admin.com")).thenReturn(UserDTO.builder()
+                .id(1L)
+                .userName("admin@admin.com")
+                .passWord("hash")
+                .enabled(true)
+                .role(new RoleDTO(1L, "Admin"))
+                .build());
+    }
+
+    @Test
+    public void givenRepeatedLookups_loadUserOnce() throws Exception {
+
+        securityService.loadUserByUsername("admin@admin.com");
+        securityService.loadUser("admin@admin.com");
+
+        verify(userService, times(1)).findByUserName("admin@admin.com");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "principal").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "principal").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenInvalidatedUser_loadUserAgain() throws Exception {
+
+        securityService.loadUserByUsername("admin@admin.com");
+        principalCache.invalidate("admin@admin.com");
+        securityService.loadUser("admin@admin.com");
+
+        verify(userService, times(2)).findByUserName("admin@admin.com");
+    }
+
+    @Test
+    public void givenUserChangedWhileLoading_doNotCacheTheLoadedUser() throws Exception {
+
+        UserDTO loaded = userService.findByUserName("admin@admin.com");
+        when(userService.findByUserName("admin@admin.com")).thenAnswer(invocation -> {
+            //the change commits after this load read the user
+            principalCache.invalidate("admin@admin.com");
+            return loaded;
+        });
+
+        securityService.loadUser("admin@admin.com");
+
+        assertThat(principalCache.get("admin@admin.com")).isNull();
+    }
+
+}
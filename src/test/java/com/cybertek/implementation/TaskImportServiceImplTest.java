@@ -0,0 +1,103 @@
+package com.cybertek.implementation;
+
+import com.cybertek.dto.TaskImportResultDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.ProjectTaskCounter;
+import com.cybertek.entity.Role;
+import com.cybertek.repository.ProjectTaskCounterRepository;
+import com.cybertek.service.TaskImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.cybertek.fixture.EntityFixtures.project;
+import static com.cybertek.fixture.EntityFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+//the counters are inserted with ON CONFLICT, which H2 only parses in PostgreSQL mode
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-import;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "task-import.batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskImportServiceImpl.class, ProjectTaskCounterServiceImpl.class, ObjectMapper.class})
+class TaskImportServiceImplTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private ProjectTaskCounterRepository counterRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Role role = entityManager.persist(new Role("Employee"));
+        entityManager.persist(user("employee@cybertek.com", role));
+        project = entityManager.persist(project(1, null));
+        entityManager.flush();
+    }
+
+    @Test
+    public void givenCsv_importValidRowsAndReportInvalidOnes() throws Exception {
+
+        String csv = "projectCode,assignedEmployee,taskSubject,taskDetail\n" +
+                "PRJ1,employee@cybertek.com,First,Detail\n" +
+                "PRJ2,employee@cybertek.com,Second,Detail\n" +
+                "PRJ1,nobody@cybertek.com,Third,Detail\n" +
+                "PRJ1,employee@cybertek.com,,Detail\n" +
+                "PRJ1,employee@cybertek.com,Fifth,\"Detail, with comma\"\n";
+
+        TaskImportResultDTO result = taskImportService.importCsv(stream(csv));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting("row").containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors()).extracting("message").containsExactly(
+                "Project PRJ2 does not exist", "Employee nobody@cybertek.com does not exist", "Task subject is required");
+        assertThat(counter().getUnfinishedTasks()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenNdjson_skipMalformedLinesAndKeepReading() throws Exception {
+
+        String ndjson = "{\"projectCode\":\"PRJ1\",\"assignedEmployee\":\"employee@cybertek.com\",\"taskSubject\":\"First\"}\n" +
+                "{\"projectCode\":\"PRJ1\",\n" +
+                "\n" +
+                "{\"projectCode\":\"PRJ1\",\"assignedEmployee\":\"employee@cybertek.com\",\"taskSubject\":\"Second\"}\n" +
+                "{\"projectCode\":\"PRJ1\",\"assignedEmployee\":\"employee@cybertek.com\",\"taskSubject\":\"Third\"}\n";
+
+        TaskImportResultDTO result = taskImportService.importNdjson(stream(ndjson));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("row").containsExactly(2L);
+        assertThat(counter().getUnfinishedTasks()).isEqualTo(3);
+    }
+
+    private ProjectTaskCounter counter() {
+        return counterRepository.findById(project.getId()).orElseThrow(IllegalStateException::new);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
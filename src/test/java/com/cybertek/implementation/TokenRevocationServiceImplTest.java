@@ -0,0 +1,38 @@
+package com.cybertek.implementation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceImplTest {
+
+    private final TokenRevocationServiceImpl tokenRevocationService = new TokenRevocationServiceImpl(15);
+
+    @Test
+    public void givenRevokedUser_refuseTokensIssuedInAnEarlierSecond() {
+
+        long beforeRevoke = System.currentTimeMillis();
+        tokenRevocationService.revoke("employee@cybertek.com");
+
+        assertThat(tokenRevocationService.isRevoked("employee@cybertek.com", new Date(beforeRevoke - 1000))).isTrue();
+        assertThat(tokenRevocationService.isRevoked("employee@cybertek.com", null)).isTrue();
+        assertThat(tokenRevocationService.isRevoked("manager@cybertek.com", new Date(beforeRevoke - 1000))).isFalse();
+    }
+
+    @Test
+    public void givenRevokedUser_refuseTokenIssuedInTheSameSecond() {
+
+        long revokedSecond;
+        do {
+            revokedSecond = System.currentTimeMillis() / 1000;
+            tokenRevocationService.revoke("employee@cybertek.com");
+        } while (revokedSecond != System.currentTimeMillis() / 1000);
+
+        //iat is truncated to seconds, a token of the revocation's second may have been issued before it
+        assertThat(tokenRevocationService.isRevoked("employee@cybertek.com", new Date(revokedSecond * 1000))).isTrue();
+        assertThat(tokenRevocationService.isRevoked("employee@cybertek.com", new Date((revokedSecond + 1) * 1000))).isFalse();
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.cybertek.implementation;
+
+import com.cybertek.dto.RoleDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.dto.UserImportResultDTO;
+import com.cybertek.entity.ConfirmationToken;
+import com.cybertek.entity.MailOutbox;
+import com.cybertek.entity.Role;
+import com.cybertek.enums.Gender;
+import com.cybertek.exception.TicketingProjectException;
+import com.cybertek.fixture.EntityFixtures;
+import com.cybertek.service.UserImportService;
+import com.cybertek.util.MapperUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "app.local-url=http://localhost:8080",
+        "user-import.max-users=20",
+        "user-import.hashing-threads=2"
+})
+@Import({UserImportServiceImpl.class, ConfirmationTokenServiceImpl.class, MailOutboxServiceImpl.class, MapperUtil.class, ModelMapper.class,
+        BCryptPasswordEncoder.class, SimpleMeterRegistry.class})
+class UserImportServiceImplTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    private Role role;
+
+    @BeforeEach
+    void setUp() {
+        role = entityManager.persist(new Role("Employee"));
+        entityManager.persist(EntityFixtures.user("existing@cybertek.com", role));
+        entityManager.flush();
+    }
+
+    @Test
+    public void givenUsers_createValidOnesAndQueueTheirMails() throws Exception {
+
+        List<UserDTO> users = IntStream.range(0, 10).mapToObj(i -> userDTO("user" + i + "@cybertek.com", role.getId())).collect(Collectors.toList());
+        users.add(userDTO("existing@cybertek.com", role.getId()));
+        users.add(userDTO("user0@cybertek.com", role.getId()));
+        users.add(userDTO("norole@cybertek.com", 999L));
+
+        List<UserImportResultDTO> results = userImportService.importUsers(users);
+
+        assertThat(results).hasSize(13);
+        assertThat(results).filteredOn(UserImportResultDTO::isCreated).hasSize(10);
+        assertThat(results.subList(10, 13)).extracting(UserImportResultDTO::getMessage)
+                .containsExactly("User Already Exists", "User Already Exists", "Role does not exist");
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ConfirmationToken> tokens = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM ConfirmationToken t JOIN FETCH t.user", ConfirmationToken.class).getResultList();
+        assertThat(tokens).hasSize(10);
+        assertThat(tokens).allSatisfy(token -> {
+            assertThat(token.getUser().getRole().getId()).isEqualTo(role.getId());
+            assertThat(passwordEncoder.matches("Abc1", token.getUser().getPassWord())).isTrue();
+        });
+
+        //queued with the users, nothing is sent inline
+        List<MailOutbox> mails = entityManager.getEntityManager()
+                .createQuery("SELECT m FROM MailOutbox m", MailOutbox.class).getResultList();
+        assertThat(mails).extracting(MailOutbox::getRecipient)
+                .containsExactlyInAnyOrderElementsOf(tokens.stream().map(token -> token.getUser().getUserName()).collect(Collectors.toList()));
+        assertThat(mails).allSatisfy(mail -> assertThat(mail.getBody()).contains("/confirmation?token="));
+        verifyNoInteractions(javaMailSender);
+    }
+
+    @Test
+    public void givenNoValidUser_skipInsertAndMail() throws Exception {
+
+        List<UserImportResultDTO> results = userImportService.importUsers(Collections.singletonList(userDTO("existing@cybertek.com", role.getId())));
+
+        assertThat(results).extracting(UserImportResultDTO::isCreated).containsExactly(false);
+        assertThat(entityManager.getEntityManager().createQuery("SELECT count(m) FROM MailOutbox m", Long.class).getSingleResult()).isZero();
+    }
+
+    @Test
+    public void givenTooManyUsers_rejectRequest() {
+
+        List<UserDTO> users = IntStream.range(0, 21).mapToObj(i -> userDTO("user" + i + "@cybertek.com", role.getId())).collect(Collectors.toList());
+
+        assertThrows(TicketingProjectException.class, () -> userImportService.importUsers(users));
+    }
+
+    private static UserDTO userDTO(String userName, Long roleId) {
+        RoleDTO roleDTO = new RoleDTO();
+        roleDTO.setId(roleId);
+
+        UserDTO user = new UserDTO();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUserName(userName);
+        user.setPassWord("Abc1");
+        user.setGender(Gender.FEMALE);
+        user.setRole(roleDTO);
+        return user;
+    }
+
+}
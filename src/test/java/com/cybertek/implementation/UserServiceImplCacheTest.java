@@ -0,0 +1,168 @@
+package com.cybertek.implementation;
+
+import com.cybertek.cache.PrincipalCache;
+import com.cybertek.cache.ProjectCatalogCache;
+import com.cybertek.dto.CursorPage;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.User;
+import com.cybertek.fixture.EntityFixtures;
+import com.cybertek.repository.RoleRepository;
+import com.cybertek.repository.UserRepository;
+import com.cybertek.service.ConfirmationTokenService;
+import com.cybertek.service.ProjectService;
+import com.cybertek.service.TaskService;
+import com.cybertek.service.UserService;
+import com.cybertek.util.CursorUtil;
+import com.cybertek.util.MapperUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.initialization-mode=never",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@Import({UserServiceImpl.class, TokenRevocationServiceImpl.class, PrincipalCache.class, ProjectCatalogCache.class, MapperUtil.class, CursorUtil.class,
+        ModelMapper.class, BCryptPasswordEncoder.class, SimpleMeterRegistry.class})
+//every repository call commits on its own, the cache is only filled and invalidated on commit
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceImplCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ProjectService projectService;
+
+    @MockBean
+    private TaskService taskService;
+
+    @MockBean
+    private ConfirmationTokenService confirmationTokenService;
+
+    private Statistics statistics;
+    private Role role;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        role = roleRepository.save(new Role("Employee"));
+        user = save("employee@cybertek.com", "First");
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        //soft deleted rows are invisible to the repositories
+        jdbcTemplate.execute("DELETE FROM users");
+        jdbcTemplate.execute("DELETE FROM roles");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void givenLoadedUser_serveNextLoadFromCache() {
+
+        assertThat(userRepository.findById(user.getId())).isPresent();
+        long statements = statistics.getPrepareStatementCount();
+
+        User cached = userRepository.findById(user.getId()).orElseThrow(IllegalStateException::new);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(cached.getRole().getDescription()).isEqualTo("Employee");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    public void givenRoleLookups_serveRepeatedQueryFromCache() {
+
+        roleRepository.findByDescription("Employee");
+        userRepository.findAllByRoleDescriptionIgnoreCase("employee");
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(roleRepository.findByDescription("Employee").getDescription()).isEqualTo("Employee");
+        assertThat(userRepository.findAllByRoleDescriptionIgnoreCase("employee")).hasSize(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSoftDeletedUser_dropItFromCache() throws Exception {
+
+        assertThat(userRepository.findById(user.getId())).isPresent();
+
+        userService.delete("employee@cybertek.com");
+
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+        assertThat(userRepository.findAllByRoleDescriptionIgnoreCase("Employee")).isEmpty();
+    }
+
+    @Test
+    public void givenNullFirstNames_pageThroughEveryUserOnce() throws Exception {
+
+        for (int i = 0; i < 5; i++) {
+            save("nameless" + i + "@cybertek.com", null);
+        }
+        save("adam@cybertek.com", "Adam");
+        save("zoe@cybertek.com", "Zoe");
+
+        List<String> userNames = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<UserDTO> page = userService.listAllUsers(cursor, 2);
+            page.getContent().forEach(dto -> userNames.add(dto.getUserName()));
+            cursor = page.getNext();
+            assertThat(++pages).as("pages").isLessThanOrEqualTo(4);
+        } while (cursor != null);
+
+        //users without a first name sort first, like an empty one
+        assertThat(userNames).hasSize(8).doesNotHaveDuplicates();
+        assertThat(userNames.subList(0, 5)).allMatch(userName -> userName.startsWith("nameless"));
+        assertThat(userNames.subList(5, 8)).containsExactly("adam@cybertek.com", "employee@cybertek.com", "zoe@cybertek.com");
+    }
+
+    private User save(String userName, String firstName) {
+        User user = EntityFixtures.user(userName, role);
+        user.setFirstName(firstName);
+        return userRepository.save(user);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.cybertek.util;
+
+import com.cybertek.dto.CursorPage;
+import com.cybertek.exception.TicketingProjectException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorUtilTest {
+
+    private final CursorUtil cursorUtil = new CursorUtil(2, 3);
+
+    @Test
+    public void givenKeys_decodeWhatWasEncoded() throws TicketingProjectException {
+
+        String cursor = cursorUtil.encode("Mary.Ann", 42L);
+
+        assertThat(cursorUtil.decode(cursor, 2)).containsExactly("Mary.Ann", "42");
+        assertThat(cursorUtil.decodeId(cursorUtil.encode(7L))).isEqualTo(7L);
+    }
+
+    @Test
+    public void givenMalformedCursor_rejectIt() {
+        assertThrows(TicketingProjectException.class, () -> cursorUtil.decode("abc", 2));
+        assertThrows(TicketingProjectException.class, () -> cursorUtil.decode("***", 1));
+        assertThrows(TicketingProjectException.class, () -> cursorUtil.decodeId(cursorUtil.encode("PRJ1")));
+    }
+
+    @Test
+    public void givenLimit_applyDefaultAndMaximum() throws TicketingProjectException {
+        assertThat(cursorUtil.limit(null)).isEqualTo(2);
+        assertThat(cursorUtil.limit(100)).isEqualTo(3);
+        assertThrows(TicketingProjectException.class, () -> cursorUtil.limit(0));
+        assertThat(cursorUtil.pageable(3).getPageSize()).isEqualTo(4);
+    }
+
+    @Test
+    public void givenExtraRow_pointNextAtLastReturnedRow() throws TicketingProjectException {
+
+        List<Long> rows = Arrays.asList(1L, 2L, 3L);
+
+        CursorPage<String> page = cursorUtil.page(rows, 2, String::valueOf, cursorUtil::encode);
+        CursorPage<String> lastPage = cursorUtil.page(rows.subList(2, 3), 2, String::valueOf, cursorUtil::encode);
+
+        assertThat(page.getContent()).containsExactly("1", "2");
+        assertThat(cursorUtil.decodeId(page.getNext())).isEqualTo(2L);
+        assertThat(lastPage.getNext()).isNull();
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.cybertek.util;
+
+import com.cybertek.entity.Role;
+import com.cybertek.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JWTUtilTest {
+
+    private final JWTUtil jwtUtil = new JWTUtil();
+
+    @Test
+    public void givenValidToken_verifyOnceAndServeFromCache() {
+
+        String token = jwtUtil.generateToken(user());
+
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        assertThat(first.getSubject()).isEqualTo("admin@admin.com");
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("admin@admin.com");
+    }
+
+    @Test
+    public void givenTamperedToken_rejectSignature() {
+
+        String token = jwtUtil.generateToken(user());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        jwtUtil.verifyToken(token);
+
+        assertThrows(SignatureException.class, () -> jwtUtil.verifyToken(tampered));
+    }
+
+    @Test
+    public void givenExpiredToken_rejectEveryTime() {
+
+        String token = Jwts.builder()
+                .setSubject("admin@admin.com")
+                .claim("id", 1L)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(SignatureAlgorithm.HS256, "cybertek")
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verifyToken(token));
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    public void givenStatelessMode_buildPrincipalFromClaims() {
+
+        JWTUtil statelessJwtUtil = new JWTUtil(10_000, true, 15);
+        Claims claims = statelessJwtUtil.verifyToken(statelessJwtUtil.generateToken(user()));
+
+        assertThat(statelessJwtUtil.isStatelessToken(claims)).isTrue();
+        assertThat(statelessJwtUtil.extractUserDetails(claims).getUsername()).isEqualTo("1");
+        assertThat(statelessJwtUtil.extractUserDetails(claims).getAuthorities()).extracting("authority").containsExactly("Admin");
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime()).isEqualTo(15 * 60 * 1000);
+        assertThat(jwtUtil.isStatelessToken(claims)).isFalse();
+    }
+
+    @Test
+    public void givenLongLivedToken_neverTrustItStatelessly() {
+
+        JWTUtil statelessJwtUtil = new JWTUtil(10_000, true, 15);
+
+        Claims issuedWhileOff = statelessJwtUtil.verifyToken(jwtUtil.generateToken(user()));
+        assertThat(issuedWhileOff.get("authority")).isNull();
+        assertThat(statelessJwtUtil.isStatelessToken(issuedWhileOff)).isFalse();
+
+        long now = System.currentTimeMillis();
+        String longLived = Jwts.builder()
+                .setSubject("admin@admin.com")
+                .claim("id", 1L)
+                .claim("authority", "Admin")
+                .claim("enabled", true)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 10 * 60 * 60 * 1000))
+                .signWith(SignatureAlgorithm.HS256, "cybertek")
+                .compact();
+        assertThat(statelessJwtUtil.isStatelessToken(statelessJwtUtil.verifyToken(longLived))).isFalse();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUserName("admin@admin.com");
+        user.setFirstName("admin");
+        user.setLastName("admin");
+        user.setEnabled(true);
+        user.setRole(new Role("Admin"));
+        return user;
+    }
+
+}
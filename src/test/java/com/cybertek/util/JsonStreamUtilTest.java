@@ -0,0 +1,77 @@
+package com.cybertek.util;
+
+import com.cybertek.exception.TicketingProjectException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonStreamUtilTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonStreamUtil jsonStreamUtil = new JsonStreamUtil(objectMapper);
+
+    @Test
+    public void givenRows_writeResponseWrapperEnvelope() throws Exception {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jsonStreamUtil.<Integer>writeResponse(response, "Rows", row -> IntStream.range(0, 3).forEach(row::accept));
+
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(body.get("success").asBoolean()).isTrue();
+        assertThat(body.get("message").asText()).isEqualTo("Rows");
+        assertThat(body.get("code").asInt()).isEqualTo(200);
+        assertThat(body.get("data")).hasSize(3);
+    }
+
+    @Test
+    public void givenFailingSource_leaveResponseUntouched() {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(TicketingProjectException.class, () -> jsonStreamUtil.writeResponse(response, "Rows", row -> {
+            throw new TicketingProjectException("This user does not exist");
+        }));
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    public void givenSourceFailingBeforeCommit_discardWrittenRows() {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(TicketingProjectException.class, () -> jsonStreamUtil.<Integer>writeResponse(response, "Rows", row -> {
+            IntStream.range(0, 3).forEach(row::accept);
+            throw new TicketingProjectException("This user does not exist");
+        }));
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    public void givenSourceFailingAfterCommit_propagateWithoutClosingBody() {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalStateException.class, () -> jsonStreamUtil.<Integer>writeResponse(response, "Rows", row -> {
+            IntStream.range(0, 5000).forEach(row::accept);
+            throw new IllegalStateException("connection lost");
+        }));
+
+        //the status is already sent, the body must not be completed into a valid but shorter array
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getContentAsByteArray()).isNotEmpty();
+        assertThrows(IOException.class, () -> objectMapper.readTree(response.getContentAsByteArray()));
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.cybertek.util;
+
+import com.cybertek.dto.ProjectDTO;
+import com.cybertek.dto.RoleDTO;
+import com.cybertek.dto.TaskDTO;
+import com.cybertek.dto.UserDTO;
+import com.cybertek.entity.Project;
+import com.cybertek.entity.Role;
+import com.cybertek.entity.Task;
+import com.cybertek.entity.User;
+import com.cybertek.enums.Gender;
+import com.cybertek.enums.Status;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MapperUtilTest {
+
+    static ModelMapper modelMapper;
+    static MapperUtil mapperUtil;
+
+    @BeforeAll
+    static void setUp() {
+        modelMapper = new ModelMapper();
+        mapperUtil = new MapperUtil(modelMapper);
+    }
+
+    @Test
+    public void givenTaskGraph_convertToDtoLikeModelMapper() {
+
+        Task task = task();
+
+        TaskDTO converted = mapperUtil.convert(task, new TaskDTO());
+
+        assertThat(converted).usingRecursiveComparison().isEqualTo(modelMapper.map(task, TaskDTO.class));
+        assertThat(converted.getProject().getAssignedManager().getRole().getDescription()).isEqualTo("Manager");
+        assertThat(converted.getAssignedEmployee().isEnabled()).isTrue();
+    }
+
+    @Test
+    public void givenTaskDto_convertToEntityLikeModelMapper() {
+
+        TaskDTO dto = modelMapper.map(task(), TaskDTO.class);
+
+        Task converted = mapperUtil.convert(dto, new Task());
+
+        assertThat(converted).usingRecursiveComparison().isEqualTo(modelMapper.map(dto, Task.class));
+        assertThat(converted.getProject().getAssignedManager().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    public void givenProxySubclass_convertWithMappedSuperclassConverter() {
+
+        Project proxy = new Project() {
+        };
+        proxy.setId(5L);
+        proxy.setProjectCode("PRX");
+
+        ProjectDTO converted = mapperUtil.convert(proxy, new ProjectDTO());
+
+        assertThat(converted.getId()).isEqualTo(5L);
+        assertThat(converted.getProjectCode()).isEqualTo("PRX");
+    }
+
+    @Test
+    public void givenNullSource_throwLikeModelMapper() {
+        assertThrows(IllegalArgumentException.class, () -> mapperUtil.convert(null, new UserDTO()));
+    }
+
+    @Test
+    public void givenUnregisteredPair_fallBackToModelMapper() {
+
+        RoleDTO role = new RoleDTO(3L, "Employee");
+
+        UserDTO converted = mapperUtil.convert(role, new UserDTO());
+
+        assertThat(converted.getId()).isEqualTo(3L);
+    }
+
+    static Task task() {
+
+        Role managerRole = new Role("Manager");
+        managerRole.setId(2L);
+        Role employeeRole = new Role("Employee");
+        employeeRole.setId(3L);
+
+        User manager = user(2L, "manager@cybertek.com", managerRole);
+        User employee = user(3L, "employee@cybertek.com", employeeRole);
+
+        Project project = new Project();
+        project.setId(1L);
+        project.setProjectCode("PRJ001");
+        project.setProjectName("Ticketing");
+        project.setAssignedManager(manager);
+        project.setStartDate(LocalDate.of(2021, 1, 5));
+        project.setEndDate(LocalDate.of(2021, 6, 5));
+        project.setProjectStatus(Status.IN_PROGRESS);
+        project.setProjectDetail("Ticketing project");
+
+        Task task = new Task();
+        task.setId(10L);
+        task.setTaskSubject("Mapping");
+        task.setTaskDetail("Replace ModelMapper");
+        task.setTaskStatus(Status.OPEN);
+        task.setAssignedDate(LocalDate.of(2021, 2, 1));
+        task.setAssignedEmployee(employee);
+        task.setProject(project);
+        task.setInsertDateTime(LocalDateTime.of(2021, 2, 1, 10, 0));
+
+        return task;
+    }
+
+    private static User user(Long id, String userName, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setUserName(userName);
+        user.setPassWord("secret");
+        user.setEnabled(true);
+        user.setPhone("0123456789");
+        user.setGender(Gender.FEMALE);
+        user.setRole(role);
+        return user;
+    }
+
+}